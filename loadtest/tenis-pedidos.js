@@ -0,0 +1,75 @@
+// Teste de carga k6: comparação platform threads x virtual threads em /tenis e /pedidos.
+//
+// Rodar a aplicação em cada modo e executar o mesmo script, guardando o resumo:
+//   ./mvnw spring-boot:run                                          # platform threads
+//   k6 run --summary-export=target/k6-platform.json loadtest/tenis-pedidos.js
+//   ./mvnw spring-boot:run -Dspring-boot.run.profiles=virtual       # virtual threads
+//   k6 run --summary-export=target/k6-virtual.json loadtest/tenis-pedidos.js
+//
+// Variáveis: BASE_URL, EMAIL, SENHA (usuário CLIENTE existente), USUARIO_ID, TENIS_ID, TAMANHO, VUS, DURATION.
+// Comparar http_req_duration (p95/p99), http_reqs/s e a taxa de 503 do bulkhead (checks "sem 503").
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api';
+const VUS = parseInt(__ENV.VUS || '400');
+const DURATION = __ENV.DURATION || '2m';
+
+export const options = {
+    scenarios: {
+        catalogo: {
+            executor: 'constant-vus',
+            exec: 'listarTenis',
+            vus: Math.floor(VUS * 0.8),
+            duration: DURATION,
+        },
+        checkout: {
+            executor: 'constant-vus',
+            exec: 'criarPedido',
+            vus: Math.ceil(VUS * 0.2),
+            duration: DURATION,
+        },
+    },
+    thresholds: {
+        'http_req_duration{scenario:catalogo}': ['p(95)<500'],
+        'http_req_duration{scenario:checkout}': ['p(95)<1500'],
+    },
+};
+
+export function setup() {
+    const res = http.post(`${BASE_URL}/auth/login`, JSON.stringify({
+        email: __ENV.EMAIL || 'cliente@lojatenis.com',
+        senha: __ENV.SENHA || '123456',
+    }), { headers: { 'Content-Type': 'application/json' } });
+    check(res, { 'login ok': (r) => r.status === 200 });
+    return { token: res.json('token') };
+}
+
+export function listarTenis() {
+    const page = Math.floor(Math.random() * 5);
+    const res = http.get(`${BASE_URL}/tenis?page=${page}&size=20`);
+    check(res, {
+        'status 200': (r) => r.status === 200,
+        'sem 503': (r) => r.status !== 503,
+    });
+}
+
+export function criarPedido(data) {
+    const res = http.post(`${BASE_URL}/pedidos`, JSON.stringify({
+        usuarioId: parseInt(__ENV.USUARIO_ID || '1'),
+        itens: [{
+            tenisId: parseInt(__ENV.TENIS_ID || '1'),
+            quantidade: 1,
+            tamanho: parseInt(__ENV.TAMANHO || '40'),
+        }],
+    }), {
+        headers: {
+            'Content-Type': 'application/json',
+            'Authorization': `Bearer ${data.token}`,
+        },
+    });
+    check(res, {
+        'status 201 ou estoque esgotado': (r) => r.status === 201 || r.status === 400,
+        'sem 503': (r) => r.status !== 503,
+    });
+}
@@ -0,0 +1,94 @@
+package com.lojatenis.benchmark;
+
+import com.lojatenis.domain.Categoria;
+import com.lojatenis.domain.ItemPedido;
+import com.lojatenis.domain.Pedido;
+import com.lojatenis.domain.Tenis;
+import com.lojatenis.domain.Usuario;
+import com.lojatenis.domain.enums.StatusPedido;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Entidades montadas em memória para os benchmarks (sem banco nem contexto Spring)
+public final class BenchmarkFixtures {
+
+    public static final String JWT_SECRET =
+            "ZTdiZTg2YjhmYjE3NDM5YmI4ZDEyYjQ4ZDYxZTI1ODc0Yzc5MjM5ZjY5YjU5M2U5MjQ3YjU3YzY0ZDM2NDM5Ng==";
+    public static final long JWT_EXPIRATION = 86400000L;
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private BenchmarkFixtures() {
+    }
+
+    public static Tenis tenis(long id, int quantidadeCategorias) {
+        Tenis tenis = new Tenis();
+        tenis.setId(id);
+        tenis.setNome("Air Max " + id);
+        tenis.setMarca("Nike");
+        tenis.setModelo("AM-" + id);
+        tenis.setPreco(new BigDecimal("599.90"));
+        tenis.setDescricao("Tênis de corrida com amortecimento a ar");
+        tenis.setCor("Preto");
+        tenis.setMaterial("Mesh");
+        tenis.setCreatedAt(AGORA);
+        tenis.setUpdatedAt(AGORA);
+
+        Set<Categoria> categorias = new HashSet<>();
+        for (int i = 1; i <= quantidadeCategorias; i++) {
+            categorias.add(categoria(i));
+        }
+        tenis.setCategorias(categorias);
+        return tenis;
+    }
+
+    public static Categoria categoria(long id) {
+        Categoria categoria = new Categoria();
+        categoria.setId(id);
+        categoria.setNome("Categoria " + id);
+        categoria.setDescricao("Descrição da categoria " + id);
+        categoria.setCreatedAt(AGORA);
+        categoria.setUpdatedAt(AGORA);
+        return categoria;
+    }
+
+    public static Usuario usuario(long id) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setNome("Cliente " + id);
+        usuario.setEmail("cliente" + id + "@lojatenis.com");
+        return usuario;
+    }
+
+    public static Pedido pedido(long id, int quantidadeItens) {
+        Pedido pedido = new Pedido();
+        pedido.setId(id);
+        pedido.setDataPedido(AGORA);
+        pedido.setStatus(StatusPedido.PENDENTE);
+        pedido.setUsuario(usuario(1L));
+        pedido.setCreatedAt(AGORA);
+        pedido.setUpdatedAt(AGORA);
+
+        List<ItemPedido> itens = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 1; i <= quantidadeItens; i++) {
+            ItemPedido item = new ItemPedido();
+            item.setId((long) i);
+            item.setQuantidade(i % 3 + 1);
+            item.setTamanho(38 + i % 6);
+            item.setTenis(tenis(i, 0));
+            item.setPrecoUnitario(item.getTenis().getPreco());
+            item.setPedido(pedido);
+            itens.add(item);
+            total = total.add(item.getPrecoUnitario().multiply(BigDecimal.valueOf(item.getQuantidade())));
+        }
+        pedido.setItens(itens);
+        pedido.setValorTotal(total);
+        return pedido;
+    }
+}
@@ -0,0 +1,97 @@
+package com.lojatenis.controller;
+
+import com.lojatenis.benchmark.BenchmarkFixtures;
+import com.lojatenis.domain.Tenis;
+import com.lojatenis.dto.response.TenisResponseDTO;
+import com.lojatenis.service.TenisService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+// Links de uma página de tênis: linkTo(methodOn(...)) por item (abordagem anterior) x LinkFactory.
+// Cada invocação simula uma requisição nova, então a base do LinkFactory é recalculada uma vez por página.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LinkFactoryBenchmark {
+
+    @Param({"10", "100"})
+    private int tamanhoPagina;
+
+    private LinkFactory linkFactory;
+    private TenisService tenisService;
+    private List<Tenis> tenis;
+
+    @Setup
+    public void setup() {
+        linkFactory = new LinkFactory();
+        tenisService = new TenisService(null, null, null, null, null);
+        tenis = new ArrayList<>(tamanhoPagina);
+        for (int i = 1; i <= tamanhoPagina; i++) {
+            tenis.add(BenchmarkFixtures.tenis(i, 3));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void novaRequisicao() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tenis");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        request.setContextPath("/api");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown(Level.Invocation)
+    public void fimRequisicao() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public List<TenisResponseDTO> linkToMethodOn() {
+        List<TenisResponseDTO> pagina = novaPagina();
+        for (TenisResponseDTO dto : pagina) {
+            dto.add(linkTo(methodOn(TenisController.class).findById(dto.getId())).withSelfRel());
+            dto.add(linkTo(methodOn(TenisController.class).update(dto.getId(), null)).withRel("update"));
+            dto.add(linkTo(methodOn(TenisController.class).delete(dto.getId())).withRel("delete"));
+            dto.add(linkTo(methodOn(TenisController.class)
+                    .findAll(0, 10, "id", null, null, null, null, null, null, null)).withRel("all-tenis"));
+            dto.getCategorias().forEach(categoria -> categoria.add(linkTo(methodOn(CategoriaController.class)
+                    .findById(categoria.getId())).withRel("categoria")));
+        }
+        return pagina;
+    }
+
+    @Benchmark
+    public List<TenisResponseDTO> linkFactoryTemplates() {
+        List<TenisResponseDTO> pagina = novaPagina();
+        for (TenisResponseDTO dto : pagina) {
+            dto.add(linkFactory.tenis(dto.getId(), IanaLinkRelations.SELF_VALUE));
+            dto.add(linkFactory.tenis(dto.getId(), "update"));
+            dto.add(linkFactory.tenis(dto.getId(), "delete"));
+            dto.add(linkFactory.todosTenis());
+            dto.getCategorias().forEach(categoria -> categoria.add(linkFactory.categoria(categoria.getId(), "categoria")));
+        }
+        return pagina;
+    }
+
+    // DTOs novos a cada invocação: os links são acumulados nas instâncias
+    private List<TenisResponseDTO> novaPagina() {
+        List<TenisResponseDTO> pagina = new ArrayList<>(tamanhoPagina);
+        for (Tenis t : tenis) {
+            pagina.add(tenisService.toResponseDTO(t));
+        }
+        return pagina;
+    }
+}
@@ -0,0 +1,63 @@
+package com.lojatenis.controller;
+
+import com.lojatenis.benchmark.BenchmarkFixtures;
+import com.lojatenis.domain.Tenis;
+import com.lojatenis.dto.response.TenisResponseDTO;
+import com.lojatenis.service.TenisService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TenisLinksBenchmark {
+
+    private TenisController controller;
+    private TenisService tenisService;
+    private Tenis tenis;
+
+    @Setup
+    public void setup() {
+        controller = new TenisController(null, null, null, null, new LinkFactory());
+        tenisService = new TenisService(null, null, null, null, null);
+        tenis = BenchmarkFixtures.tenis(1L, 3);
+
+        // linkTo(methodOn(...)) resolve host e context path a partir da requisição corrente (thread-local)
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tenis");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        request.setContextPath("/api");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public TenisResponseDTO addSelfLink() {
+        TenisResponseDTO dto = novoDTO();
+        controller.addSelfLink(dto);
+        return dto;
+    }
+
+    @Benchmark
+    public TenisResponseDTO addRelatedLinks() {
+        TenisResponseDTO dto = novoDTO();
+        controller.addRelatedLinks(dto);
+        return dto;
+    }
+
+    // DTO novo a cada invocação: os links são acumulados na instância
+    private TenisResponseDTO novoDTO() {
+        return tenisService.toResponseDTO(tenis);
+    }
+}
@@ -0,0 +1,75 @@
+package com.lojatenis.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.lojatenis.benchmark.BenchmarkFixtures;
+import com.lojatenis.dto.response.TenisResponseDTO;
+import com.lojatenis.service.TenisService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TenisSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int tamanhoPagina;
+
+    private ObjectMapper halMapper;
+    private PagedModel<TenisResponseDTO> pagina;
+
+    @Setup
+    public void setup() {
+        // Mesmo formato HAL (application/hal+json) que o Spring HATEOAS produz na API
+        halMapper = new ObjectMapper();
+        halMapper.registerModule(new JavaTimeModule());
+        halMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        halMapper.registerModule(new Jackson2HalModule());
+        halMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tenis");
+        request.setContextPath("/api");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            TenisController controller = new TenisController(null, null, null, null, new LinkFactory());
+            TenisService tenisService = new TenisService(null, null, null, null, null);
+            List<TenisResponseDTO> conteudo = new ArrayList<>(tamanhoPagina);
+            for (int i = 1; i <= tamanhoPagina; i++) {
+                TenisResponseDTO dto = tenisService.toResponseDTO(BenchmarkFixtures.tenis(i, 3));
+                controller.addSelfLink(dto);
+                controller.addRelatedLinks(dto);
+                conteudo.add(dto);
+            }
+            pagina = PagedModel.of(conteudo,
+                    new PagedModel.PageMetadata(tamanhoPagina, 0, tamanhoPagina * 10L),
+                    Link.of("http://localhost/api/tenis?page=0&size=" + tamanhoPagina, IanaLinkRelations.SELF),
+                    Link.of("http://localhost/api/tenis?page=1&size=" + tamanhoPagina, IanaLinkRelations.NEXT));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() throws Exception {
+        return halMapper.writeValueAsBytes(pagina);
+    }
+}
@@ -0,0 +1,58 @@
+package com.lojatenis.security;
+
+import com.lojatenis.benchmark.BenchmarkFixtures;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenUtilBenchmark {
+
+    private JwtTokenUtil semCache;
+    private JwtTokenUtil comCache;
+    private UserDetails principal;
+    private String token;
+    private Claims claims;
+
+    @Setup
+    public void setup() {
+        semCache = new JwtTokenUtil(BenchmarkFixtures.JWT_SECRET, BenchmarkFixtures.JWT_EXPIRATION,
+                0, Duration.ofMinutes(5));
+        comCache = new JwtTokenUtil(BenchmarkFixtures.JWT_SECRET, BenchmarkFixtures.JWT_EXPIRATION,
+                10_000, Duration.ofMinutes(5));
+        principal = new UsuarioPrincipal(1L, "cliente1@lojatenis.com", "",
+                List.of(new SimpleGrantedAuthority("ROLE_CLIENTE")));
+        token = semCache.generateToken(principal);
+        claims = semCache.parseClaims(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return semCache.generateToken(principal);
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return semCache.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims parseClaimsComCache() {
+        return comCache.parseClaims(token);
+    }
+
+    @Benchmark
+    public UserDetails getPrincipalFromClaims() {
+        return semCache.getPrincipalFromClaims(claims);
+    }
+}
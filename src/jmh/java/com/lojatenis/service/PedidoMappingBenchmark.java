@@ -0,0 +1,44 @@
+package com.lojatenis.service;
+
+import com.lojatenis.benchmark.BenchmarkFixtures;
+import com.lojatenis.domain.ItemPedido;
+import com.lojatenis.domain.Pedido;
+import com.lojatenis.dto.response.ItemPedidoResponseDTO;
+import com.lojatenis.dto.response.PedidoResponseDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PedidoMappingBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int itens;
+
+    private PedidoService pedidoService;
+    private Pedido pedido;
+    private ItemPedido item;
+
+    @Setup
+    public void setup() {
+        // O mapeamento não usa repositórios nem os serviços auxiliares
+        pedidoService = new PedidoService(null, null, null, null, null, null);
+        pedido = BenchmarkFixtures.pedido(1L, itens);
+        item = pedido.getItens().get(0);
+    }
+
+    @Benchmark
+    public PedidoResponseDTO toResponseDTO() {
+        return pedidoService.toResponseDTO(pedido);
+    }
+
+    @Benchmark
+    public ItemPedidoResponseDTO toItemResponseDTO() {
+        return pedidoService.toItemResponseDTO(item);
+    }
+}
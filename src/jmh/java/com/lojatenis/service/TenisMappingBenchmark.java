@@ -0,0 +1,35 @@
+package com.lojatenis.service;
+
+import com.lojatenis.benchmark.BenchmarkFixtures;
+import com.lojatenis.domain.Tenis;
+import com.lojatenis.dto.response.TenisResponseDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TenisMappingBenchmark {
+
+    @Param({"0", "3"})
+    private int categorias;
+
+    private TenisService tenisService;
+    private Tenis tenis;
+
+    @Setup
+    public void setup() {
+        // O mapeamento não usa repositórios, cache nem eventos
+        tenisService = new TenisService(null, null, null, null, null);
+        tenis = BenchmarkFixtures.tenis(1L, categorias);
+    }
+
+    @Benchmark
+    public TenisResponseDTO toResponseDTO() {
+        return tenisService.toResponseDTO(tenis);
+    }
+}
@@ -0,0 +1,85 @@
+package com.lojatenis.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Limita as requisições em andamento. Com virtual threads o Tomcat não tem mais um teto de threads,
+// e sem esse limite milhares de requisições disputariam as poucas conexões do Hikari até o
+// connection-timeout. Excedentes esperam até max-wait e depois recebem 503 com Retry-After.
+@Component
+@ConditionalOnProperty(name = "loja.bulkhead.enabled", havingValue = "true")
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+@Slf4j
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final Counter rejected;
+
+    public BulkheadFilter(MeterRegistry meterRegistry,
+                          @Value("${loja.bulkhead.max-concurrent}") int maxConcurrent,
+                          @Value("${loja.bulkhead.max-wait}") Duration maxWait) {
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.rejected = Counter.builder("loja.bulkhead.rejected").register(meterRegistry);
+        Gauge.builder("loja.bulkhead.available", permits, Semaphore::availablePermits).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejected.increment();
+            log.warn("Bulkhead saturado - rejeitando {} {}", request.getMethod(), request.getRequestURI());
+            response.setContentType("application/json");
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.getWriter().write("""
+                {
+                    "status": 503,
+                    "error": "Service Unavailable",
+                    "message": "Servidor sobrecarregado, tente novamente",
+                    "timestamp": "%s"
+                }
+                """.formatted(java.time.LocalDateTime.now()));
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.lojatenis.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    public static final String TENIS = "tenis";
+    public static final String TENIS_LISTAGEM = "tenis-listagem";
+    public static final String CATEGORIAS = "categorias";
+    public static final String CATEGORIAS_LISTAGEM = "categorias-listagem";
+    public static final String PRINCIPAIS = "principais";
+
+    // Caches declarados na inicialização para que o Actuator publique as métricas (hit/miss/eviction)
+    @Bean
+    public CacheManager cacheManager(@Value("${loja.cache.catalogo.spec}") String spec,
+                                     @Value("${loja.cache.principais.spec}") String principaisSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheSpecification(spec);
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(List.of(TENIS, TENIS_LISTAGEM, CATEGORIAS, CATEGORIAS_LISTAGEM));
+        // Principais autenticados têm TTL curto e configuração própria
+        cacheManager.registerCustomCache(PRINCIPAIS, Caffeine.from(principaisSpec).build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,188 @@
+package com.lojatenis.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lojatenis.event.CatalogoAlteradoEvent;
+import com.lojatenis.service.CatalogoCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+// Cache das respostas já renderizadas (JSON/HAL com links) das leituras públicas do catálogo:
+// GET /tenis, /tenis/{id}, /categorias e /categorias/{id}. Guarda os bytes prontos, puros e em gzip,
+// por URL normalizada + versão do catálogo; um acerto não passa por controller, mapeamento,
+// links nem Jackson. Roda depois do Spring Security, então autenticação e headers de segurança
+// continuam valendo.
+@Component
+@ConditionalOnProperty(name = "loja.render-cache.enabled", havingValue = "true")
+@Slf4j
+public class CatalogoRenderCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern CATALOGO = Pattern.compile("/(tenis|categorias)(/\\d+)?");
+
+    // Os links HATEOAS são absolutos: tudo que altera host/esquema/prefixo entra na chave
+    private static final String[] HEADERS_CHAVE = {
+            HttpHeaders.HOST, HttpHeaders.ACCEPT, "Forwarded",
+            "X-Forwarded-Host", "X-Forwarded-Proto", "X-Forwarded-Port", "X-Forwarded-Prefix"
+    };
+
+    private record Renderizado(byte[] corpo, byte[] corpoGzip, String contentType,
+                               String etag, long ultimaAlteracao, String cacheControl) {
+    }
+
+    private final Cache<String, Renderizado> cache;
+    private final CatalogoCache catalogoCache;
+    private final int maxKeyLength;
+    private final Counter hits;
+    private final Counter misses;
+
+    public CatalogoRenderCacheFilter(CatalogoCache catalogoCache,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${loja.render-cache.max-size}") DataSize maxSize,
+                                     @Value("${loja.render-cache.max-key-length}") int maxKeyLength) {
+        this.catalogoCache = catalogoCache;
+        this.maxKeyLength = maxKeyLength;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String chave, Renderizado r) -> chave.length() * 2 + r.corpo().length + r.corpoGzip().length)
+                .build();
+        this.hits = Counter.builder("loja.render-cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("loja.render-cache.requests").tag("result", "miss").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !CATALOGO.matcher(path).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        CatalogoCache.Versao versao = catalogoCache.getVersao();
+        String chave = chave(request, versao);
+        if (chave == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        Renderizado renderizado = cache.getIfPresent(chave);
+        if (renderizado != null) {
+            hits.increment();
+            escrever(request, response, renderizado);
+            return;
+        }
+
+        misses.increment();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            // Só respostas com validadores: o controller omite o ETag quando o catálogo mudou durante a montagem
+            String etag = wrapper.getHeader(HttpHeaders.ETAG);
+            if (wrapper.getStatus() == HttpServletResponse.SC_OK && etag != null && versao == catalogoCache.getVersao()) {
+                byte[] corpo = wrapper.getContentAsByteArray();
+                cache.put(chave, new Renderizado(corpo, gzip(corpo), wrapper.getContentType(), etag,
+                        parseData(wrapper.getHeader(HttpHeaders.LAST_MODIFIED)),
+                        wrapper.getHeader(HttpHeaders.CACHE_CONTROL)));
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    // Cópias antigas já ficam inalcançáveis pela versão na chave; limpar apenas libera a memória
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogoAlterado(CatalogoAlteradoEvent event) {
+        cache.invalidateAll();
+    }
+
+    // Os arrays guardados são escritos direto no stream da resposta, sem cópia nem nova serialização
+    private void escrever(HttpServletRequest request, HttpServletResponse response,
+                          Renderizado renderizado) throws IOException {
+        if (renderizado.cacheControl() != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, renderizado.cacheControl());
+        }
+        if (new ServletWebRequest(request, response).checkNotModified(renderizado.etag(), renderizado.ultimaAlteracao())) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ETAG, renderizado.etag());
+        if (renderizado.ultimaAlteracao() > 0) {
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, renderizado.ultimaAlteracao());
+        }
+        response.setContentType(renderizado.contentType());
+
+        byte[] corpo = renderizado.corpo();
+        if (aceitaGzip(request)) {
+            corpo = renderizado.corpoGzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(corpo.length);
+        response.getOutputStream().write(corpo);
+    }
+
+    // Versão + origem + caminho + parâmetros em ordem alfabética (?size=10&page=0 == ?page=0&size=10)
+    private String chave(HttpServletRequest request, CatalogoCache.Versao versao) {
+        StringBuilder chave = new StringBuilder(128)
+                .append(versao.instancia()).append('.').append(versao.numero()).append('|')
+                .append(request.getScheme()).append('|');
+        for (String header : HEADERS_CHAVE) {
+            String valor = request.getHeader(header);
+            chave.append(valor == null ? "" : valor).append('|');
+        }
+        chave.append(request.getRequestURI()).append('?');
+
+        for (Map.Entry<String, String[]> parametro : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            chave.append(parametro.getKey()).append('=').append(String.join(",", parametro.getValue())).append('&');
+        }
+        return chave.length() > maxKeyLength ? null : chave.toString();
+    }
+
+    private static boolean aceitaGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip") && !acceptEncoding.contains("gzip;q=0");
+    }
+
+    private static byte[] gzip(byte[] corpo) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(Math.max(64, corpo.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(corpo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+
+    private static long parseData(String data) {
+        return data == null ? -1 : ZonedDateTime.parse(data, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,118 @@
+package com.lojatenis.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Instrumentação de repositories e services: um Timer do Micrometer por classe/método/exceção.
+// Formatação de argumentos só acontece em DEBUG e para uma amostra das chamadas.
+@Aspect
+@Component
+@Slf4j
+public class MetricsAspect {
+
+    private static final String REPOSITORY_METRIC = "loja.repository";
+    private static final String SERVICE_METRIC = "loja.service";
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final double debugSampleRate;
+
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, String> classNames = new ConcurrentHashMap<>();
+
+    public MetricsAspect(MeterRegistry meterRegistry,
+                         @Value("${loja.metrics.debug-sample-rate}") double debugSampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.debugSampleRate = debugSampleRate;
+    }
+
+    @Around("execution(* com.lojatenis.repository.*.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_METRIC, joinPoint);
+    }
+
+    @Around("execution(* com.lojatenis.service.*.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_METRIC, joinPoint);
+    }
+
+    private Object time(String metric, ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String exception = NO_EXCEPTION;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            long duration = System.nanoTime() - start;
+            String className = className(joinPoint.getTarget());
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            timer(metric, className, method, exception).record(duration, TimeUnit.NANOSECONDS);
+
+            if (shouldLogSample()) {
+                log.debug("[{}] {}.{} | Argumentos: {} | Tempo: {}ms | Exceção: {}",
+                        metric, className, method.getName(), Arrays.toString(joinPoint.getArgs()),
+                        TimeUnit.NANOSECONDS.toMillis(duration), exception);
+            }
+        }
+    }
+
+    // get/putIfAbsent em vez de computeIfAbsent: o registro no MeterRegistry não roda dentro do lock
+    // (synchronized) do bucket do ConcurrentHashMap, que prenderia a virtual thread ao carrier
+    private Timer timer(String metric, String className, Method method, String exception) {
+        TimerKey key = new TimerKey(metric, className, method, exception);
+        Timer timer = timers.get(key);
+        if (timer == null) {
+            timer = Timer.builder(metric)
+                    .tag("class", className)
+                    .tag("method", method.getName())
+                    .tag("exception", exception)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+            timers.putIfAbsent(key, timer);
+        }
+        return timer;
+    }
+
+    // Repositories do Spring Data são proxies JDK: usar a interface do projeto em vez de "$ProxyNN"
+    private String className(Object target) {
+        Class<?> type = target.getClass();
+        String name = classNames.get(type);
+        if (name == null) {
+            name = Proxy.isProxyClass(type)
+                    ? Arrays.stream(type.getInterfaces())
+                            .filter(i -> i.getPackageName().startsWith("com.lojatenis"))
+                            .map(Class::getSimpleName)
+                            .findFirst()
+                            .orElse(type.getSimpleName())
+                    : type.getSimpleName();
+            classNames.putIfAbsent(type, name);
+        }
+        return name;
+    }
+
+    private boolean shouldLogSample() {
+        return debugSampleRate > 0
+                && log.isDebugEnabled()
+                && ThreadLocalRandom.current().nextDouble() < debugSampleRate;
+    }
+
+    private record TimerKey(String metric, String className, Method method, String exception) {
+    }
+}
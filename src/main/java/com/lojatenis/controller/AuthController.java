@@ -1,60 +1,74 @@
 package com.lojatenis.controller;
 
 import com.lojatenis.dto.request.LoginRequestDTO;
+import com.lojatenis.dto.request.RefreshTokenRequestDTO;
 import com.lojatenis.dto.request.UsuarioCreateRequestDTO;
 import com.lojatenis.dto.response.JwtResponseDTO;
 import com.lojatenis.dto.response.UsuarioResponseDTO;
 import com.lojatenis.security.JwtTokenUtil;
+import com.lojatenis.security.LoginExecutor;
+import com.lojatenis.security.UsuarioPrincipal;
+import com.lojatenis.service.RefreshTokenService;
 import com.lojatenis.service.UsuarioService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/auth")
 @Slf4j
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
+    private final LoginExecutor loginExecutor;
     private final JwtTokenUtil jwtTokenUtil;
+    private final RefreshTokenService refreshTokenService;
     private final UsuarioService usuarioService;
+    private final AsyncTaskExecutor taskExecutor;
 
-    public AuthController(AuthenticationManager authenticationManager,
+    public AuthController(LoginExecutor loginExecutor,
                           JwtTokenUtil jwtTokenUtil,
-                          UsuarioService usuarioService) {
-        this.authenticationManager = authenticationManager;
+                          RefreshTokenService refreshTokenService,
+                          UsuarioService usuarioService,
+                          @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor) {
+        this.loginExecutor = loginExecutor;
         this.jwtTokenUtil = jwtTokenUtil;
+        this.refreshTokenService = refreshTokenService;
         this.usuarioService = usuarioService;
+        this.taskExecutor = taskExecutor;
     }
 
+    // Resposta assíncrona: o hash da senha roda no pool de login, não na thread da requisição.
+    // O restante (INSERT do refresh token, assinatura do JWT) segue no applicationTaskExecutor
+    // para não ocupar as threads de BCrypt com I/O de banco.
     @PostMapping("/login")
-    public ResponseEntity<JwtResponseDTO> login(@Valid @RequestBody LoginRequestDTO loginRequest) {
+    public CompletableFuture<ResponseEntity<JwtResponseDTO>> login(@Valid @RequestBody LoginRequestDTO loginRequest) {
         log.info("Tentativa de login para email: {}", loginRequest.getEmail());
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getEmail(),
-                        loginRequest.getSenha()
-                )
-        );
+        return loginExecutor.autenticar(loginRequest.getEmail(), loginRequest.getSenha())
+                .thenApplyAsync(authentication -> {
+                    UsuarioPrincipal principal = (UsuarioPrincipal) authentication.getPrincipal();
+                    JwtResponseDTO response = tokens(principal, refreshTokenService.emitir(principal));
 
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String token = jwtTokenUtil.generateToken(userDetails);
+                    log.info("Login realizado com sucesso para: {}", loginRequest.getEmail());
+                    return ResponseEntity.ok(response);
+                }, taskExecutor);
+    }
 
-        JwtResponseDTO response = new JwtResponseDTO(
-                token,
-                "Bearer",
-                jwtTokenUtil.getExpirationDateFromToken(token)
-        );
+    // Troca o refresh token por um novo par de tokens sem senha: sem BCrypt e sem o pool de login
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtResponseDTO> refresh(@Valid @RequestBody RefreshTokenRequestDTO refreshRequest) {
+        RefreshTokenService.Rotacao rotacao = refreshTokenService.rotacionar(refreshRequest.getRefreshToken());
 
-        log.info("Login realizado com sucesso para: {}", loginRequest.getEmail());
-        return ResponseEntity.ok(response);
+        log.debug("Tokens renovados para: {}", rotacao.principal().getUsername());
+        return ResponseEntity.ok(tokens(rotacao.principal(), rotacao.refreshToken()));
     }
 
     @PostMapping("/register")
@@ -66,4 +80,15 @@ public class AuthController {
         log.info("Usuário registrado com sucesso: {}", createdUser.getEmail());
         return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
     }
+
+    private JwtResponseDTO tokens(UsuarioPrincipal principal, RefreshTokenService.Emitido refreshToken) {
+        String token = jwtTokenUtil.generateToken(principal);
+        return new JwtResponseDTO(
+                token,
+                "Bearer",
+                jwtTokenUtil.getExpirationDateFromToken(token),
+                refreshToken.token(),
+                Date.from(refreshToken.expiresAt().atZone(ZoneId.systemDefault()).toInstant())
+        );
+    }
 }
@@ -0,0 +1,128 @@
+package com.lojatenis.controller;
+
+import com.lojatenis.dto.response.CategoriaResponseDTO;
+import com.lojatenis.dto.response.TenisResponseDTO;
+import com.lojatenis.service.CatalogoCache;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Enumeration;
+
+// Validadores (ETag forte / Last-Modified) e Cache-Control das leituras públicas do catálogo.
+// Listagens usam a versão do catálogo; itens usam o updatedAt da própria entidade.
+@Component
+public class CatalogoHttpCache {
+
+    private final CacheControl cacheControl;
+
+    public CatalogoHttpCache(@Value("${loja.http.catalogo.max-age}") Duration maxAge) {
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    public String etagListagem(CatalogoCache.Versao versao) {
+        return "\"" + versao.instancia() + "." + versao.numero() + "\"";
+    }
+
+    public String etagCategorias(CatalogoCache.Versao versao) {
+        return "\"" + versao.instancia() + ".c" + versao.categorias() + "\"";
+    }
+
+    // O tênis embute suas categorias: o ETag inclui também a versão das categorias
+    public String etag(TenisResponseDTO tenis, CatalogoCache.Versao versao) {
+        return "\"t" + tenis.getId() + "-" + epochMilli(tenis.getUpdatedAt()) + "-"
+                + versao.instancia() + ".c" + versao.categorias() + "\"";
+    }
+
+    public String etag(CategoriaResponseDTO categoria) {
+        return "\"c" + categoria.getId() + "-" + epochMilli(categoria.getUpdatedAt()) + "\"";
+    }
+
+    public long ultimaAlteracao(TenisResponseDTO tenis, CatalogoCache.Versao versao) {
+        return Math.max(epochMilli(tenis.getUpdatedAt()), versao.categoriasAlteradasEm().toEpochMilli());
+    }
+
+    public long ultimaAlteracao(CategoriaResponseDTO categoria) {
+        return epochMilli(categoria.getUpdatedAt());
+    }
+
+    // Checagem condicional (If-None-Match / If-Modified-Since) da requisição corrente, feita antes de
+    // montar a resposta. Sem WebRequest na assinatura dos handlers, que também servem ao methodOn.
+    // Só lê a requisição: ServletWebRequest.checkNotModified gravaria ETag/Last-Modified na resposta
+    // mesmo quando ela acaba indo sem validadores (ver ok(lida, atual, ...)).
+    public boolean naoModificado(String etag, long ultimaAlteracao) {
+        ServletRequestAttributes atributos = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        return naoModificado(atributos.getRequest(), etag, ultimaAlteracao);
+    }
+
+    // If-None-Match tem precedência (comparação fraca, RFC 9110 13.1.2); If-Modified-Since em segundos
+    static boolean naoModificado(HttpServletRequest request, String etag, long ultimaAlteracao) {
+        Enumeration<String> ifNoneMatch = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && ifNoneMatch.hasMoreElements()) {
+            ETag atual = ETag.create(etag);
+            while (ifNoneMatch.hasMoreElements()) {
+                for (ETag candidato : ETag.parse(ifNoneMatch.nextElement())) {
+                    if (candidato.isWildcard() || candidato.compare(atual, false)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        if (ultimaAlteracao <= 0) {
+            return false;
+        }
+        long ifModifiedSince;
+        try {
+            ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return ifModifiedSince >= 0 && ultimaAlteracao / 1000 <= ifModifiedSince / 1000;
+    }
+
+    public <T> ResponseEntity<T> respostaNaoModificada(String etag, long ultimaAlteracao) {
+        ResponseEntity.HeadersBuilder<?> resposta = ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(cacheControl)
+                .eTag(etag);
+        if (ultimaAlteracao > 0) {
+            resposta.lastModified(ultimaAlteracao);
+        }
+        return resposta.build();
+    }
+
+    // Se o catálogo mudou enquanto a resposta era montada, não há como saber a qual versão ela
+    // pertence: vai sem validadores para não ser revalidada com um ETag errado
+    public ResponseEntity.BodyBuilder ok(CatalogoCache.Versao lida, CatalogoCache.Versao atual,
+                                         String etag, long ultimaAlteracao) {
+        if (lida != atual) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(etag)
+                .lastModified(ultimaAlteracao);
+    }
+
+    public ResponseEntity.BodyBuilder ok(String etag, long ultimaAlteracao) {
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(etag)
+                .lastModified(ultimaAlteracao);
+    }
+
+    private static long epochMilli(LocalDateTime dataHora) {
+        return dataHora == null ? 0L : dataHora.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -2,6 +2,7 @@ package com.lojatenis.controller;
 
 import com.lojatenis.dto.request.CategoriaCreateRequestDTO;
 import com.lojatenis.dto.response.CategoriaResponseDTO;
+import com.lojatenis.service.CatalogoCache;
 import com.lojatenis.service.CategoriaService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -9,6 +10,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,10 +27,14 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 public class CategoriaController {
 
     private final CategoriaService categoriaService;
+    private final CatalogoHttpCache httpCache;
+    private final LinkFactory linkFactory;
 
     // REMOVER o PagedResourcesAssembler do construtor
-    public CategoriaController(CategoriaService categoriaService) {
+    public CategoriaController(CategoriaService categoriaService, CatalogoHttpCache httpCache, LinkFactory linkFactory) {
         this.categoriaService = categoriaService;
+        this.httpCache = httpCache;
+        this.linkFactory = linkFactory;
     }
 
     @GetMapping
@@ -37,6 +43,13 @@ public class CategoriaController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sort) {
 
+        CatalogoCache.Versao versao = categoriaService.getVersaoCatalogo();
+        String etag = httpCache.etagCategorias(versao);
+        long ultimaAlteracao = versao.categoriasAlteradasEm().toEpochMilli();
+        if (httpCache.naoModificado(etag, ultimaAlteracao)) {
+            return httpCache.respostaNaoModificada(etag, ultimaAlteracao);
+        }
+
         Pageable pageable = PageRequest.of(page, size, Sort.by(sort));
         Page<CategoriaResponseDTO> categoriaPage = categoriaService.findAll(pageable);
 
@@ -67,16 +80,22 @@ public class CategoriaController {
                     .findAll(page - 1, size, sort)).withRel("prev"));
         }
 
-        return ResponseEntity.ok(pagedModel);
+        return httpCache.ok(versao, categoriaService.getVersaoCatalogo(), etag, ultimaAlteracao).body(pagedModel);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<CategoriaResponseDTO> findById(@PathVariable Long id) {
         CategoriaResponseDTO categoria = categoriaService.findById(id);
+        String etag = httpCache.etag(categoria);
+        long ultimaAlteracao = httpCache.ultimaAlteracao(categoria);
+        if (httpCache.naoModificado(etag, ultimaAlteracao)) {
+            return httpCache.respostaNaoModificada(etag, ultimaAlteracao);
+        }
+
         addSelfLink(categoria);
         addRelatedLinks(categoria);
 
-        return ResponseEntity.ok(categoria);
+        return httpCache.ok(etag, ultimaAlteracao).body(categoria);
     }
 
     @PostMapping
@@ -108,12 +127,12 @@ public class CategoriaController {
     }
 
     private void addSelfLink(CategoriaResponseDTO categoria) {
-        categoria.add(linkTo(methodOn(CategoriaController.class).findById(categoria.getId())).withSelfRel());
+        categoria.add(linkFactory.categoria(categoria.getId(), IanaLinkRelations.SELF_VALUE));
     }
 
     private void addRelatedLinks(CategoriaResponseDTO categoria) {
-        categoria.add(linkTo(methodOn(CategoriaController.class).update(categoria.getId(), null)).withRel("update"));
-        categoria.add(linkTo(methodOn(CategoriaController.class).delete(categoria.getId())).withRel("delete"));
-        categoria.add(linkTo(methodOn(CategoriaController.class).findAll(0, 10, "id")).withRel("all-categorias"));
+        categoria.add(linkFactory.categoria(categoria.getId(), "update"));
+        categoria.add(linkFactory.categoria(categoria.getId(), "delete"));
+        categoria.add(linkFactory.todasCategorias());
     }
 }
@@ -0,0 +1,52 @@
+package com.lojatenis.controller;
+
+import com.lojatenis.dto.request.EstoqueRequestDTO;
+import com.lojatenis.dto.response.EstoqueResponseDTO;
+import com.lojatenis.service.EstoqueService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/tenis/{tenisId}/estoque")
+@Validated
+@Slf4j
+public class EstoqueController {
+
+    private final EstoqueService estoqueService;
+    private final LinkFactory linkFactory;
+
+    public EstoqueController(EstoqueService estoqueService, LinkFactory linkFactory) {
+        this.estoqueService = estoqueService;
+        this.linkFactory = linkFactory;
+    }
+
+    @GetMapping
+    public ResponseEntity<CollectionModel<EstoqueResponseDTO>> findByTenisId(@PathVariable Long tenisId) {
+        List<EstoqueResponseDTO> estoque = estoqueService.findByTenisId(tenisId);
+
+        CollectionModel<EstoqueResponseDTO> collectionModel = CollectionModel.of(estoque);
+        collectionModel.add(linkFactory.estoque(tenisId, IanaLinkRelations.SELF_VALUE));
+        collectionModel.add(linkFactory.tenis(tenisId, "tenis"));
+
+        return ResponseEntity.ok(collectionModel);
+    }
+
+    @PutMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<EstoqueResponseDTO> definir(@PathVariable Long tenisId,
+                                                      @Valid @RequestBody EstoqueRequestDTO requestDTO) {
+        EstoqueResponseDTO estoque = estoqueService.definir(tenisId, requestDTO);
+        estoque.add(linkFactory.estoque(tenisId, "estoque"));
+        estoque.add(linkFactory.tenis(tenisId, "tenis"));
+
+        return ResponseEntity.ok(estoque);
+    }
+}
@@ -0,0 +1,143 @@
+package com.lojatenis.controller;
+
+import org.springframework.hateoas.Link;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import static org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder.fromMethodCall;
+import static org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder.on;
+
+// Links por item sem linkTo(methodOn(...)): os caminhos são resolvidos uma única vez, a partir dos
+// próprios mapeamentos dos controllers, e expandidos com o ID por concatenação. A base
+// (esquema, host e context path /api) é calculada uma vez por requisição; headers X-Forwarded-*
+// valem quando tratados pelo ForwardedHeaderFilter/RemoteIpValve, como no linkTo.
+@Component
+public class LinkFactory {
+
+    private static final long MARCADOR = Long.MIN_VALUE;
+    private static final String MARCADOR_TEXTO = Long.toString(MARCADOR);
+    private static final String BASE_ATTRIBUTE = LinkFactory.class.getName() + ".BASE";
+
+    private final Template tenis;
+    private final Template todosTenis;
+    private final Template estoque;
+    private final Template categoria;
+    private final Template todasCategorias;
+    private final Template usuario;
+    private final Template todosUsuarios;
+    private final Template pedido;
+    private final Template statusPedido;
+    private final Template todosPedidos;
+    private final Template pedidosDoUsuario;
+    private final Template solicitacao;
+
+    // Caminho relativo dividido no ponto do ID (depois == null: link sem ID)
+    private record Template(String antes, String depois) {
+
+        static Template of(Object invocacao) {
+            String href = fromMethodCall(UriComponentsBuilder.fromPath(""), invocacao).build().toUriString();
+            int i = href.indexOf(MARCADOR_TEXTO);
+            return i < 0
+                    ? new Template(href, null)
+                    : new Template(href.substring(0, i), href.substring(i + MARCADOR_TEXTO.length()));
+        }
+
+        // Para ações cujos parâmetros obrigatórios vão na query (preenchidos pelo cliente)
+        Template semQuery() {
+            int i = (depois == null ? antes : depois).indexOf('?');
+            if (i < 0) {
+                return this;
+            }
+            return depois == null ? new Template(antes.substring(0, i), null) : new Template(antes, depois.substring(0, i));
+        }
+
+        String expandir(String base, Long id) {
+            return depois == null ? base + antes : base + antes + id + depois;
+        }
+    }
+
+    public LinkFactory() {
+        this.tenis = Template.of(on(TenisController.class).findById(MARCADOR));
+        this.todosTenis = Template.of(on(TenisController.class)
+                .findAll(0, 10, "id", null, null, null, null, null, null, null));
+        this.estoque = Template.of(on(EstoqueController.class).findByTenisId(MARCADOR));
+        this.categoria = Template.of(on(CategoriaController.class).findById(MARCADOR));
+        this.todasCategorias = Template.of(on(CategoriaController.class).findAll(0, 10, "id"));
+        this.usuario = Template.of(on(UsuarioController.class).findById(MARCADOR));
+        this.todosUsuarios = Template.of(on(UsuarioController.class).findAll(0, 10, "id"));
+        this.pedido = Template.of(on(PedidoController.class).findById(MARCADOR));
+        this.statusPedido = Template.of(on(PedidoController.class).updateStatus(MARCADOR, null)).semQuery();
+        this.todosPedidos = Template.of(on(PedidoController.class).findAll(0, 10, "dataPedido", null));
+        this.pedidosDoUsuario = Template.of(on(PedidoController.class).findByUsuario(MARCADOR, 0, 10, "dataPedido"));
+        this.solicitacao = Template.of(on(PedidoController.class).findSolicitacao(MARCADOR, null));
+    }
+
+    public Link tenis(Long id, String rel) {
+        return link(tenis, id, rel);
+    }
+
+    public Link todosTenis() {
+        return link(todosTenis, null, "all-tenis");
+    }
+
+    public Link estoque(Long tenisId, String rel) {
+        return link(estoque, tenisId, rel);
+    }
+
+    public Link categoria(Long id, String rel) {
+        return link(categoria, id, rel);
+    }
+
+    public Link todasCategorias() {
+        return link(todasCategorias, null, "all-categorias");
+    }
+
+    public Link usuario(Long id, String rel) {
+        return link(usuario, id, rel);
+    }
+
+    public Link todosUsuarios() {
+        return link(todosUsuarios, null, "all-usuarios");
+    }
+
+    public Link pedido(Long id, String rel) {
+        return link(pedido, id, rel);
+    }
+
+    public Link statusPedido(Long id) {
+        return link(statusPedido, id, "update-status");
+    }
+
+    public Link todosPedidos() {
+        return link(todosPedidos, null, "all-pedidos");
+    }
+
+    public Link pedidosDoUsuario(Long usuarioId) {
+        return link(pedidosDoUsuario, usuarioId, "user-orders");
+    }
+
+    public Link solicitacao(Long id, String rel) {
+        return link(solicitacao, id, rel);
+    }
+
+    private Link link(Template template, Long id, String rel) {
+        return Link.of(template.expandir(base(), id), rel);
+    }
+
+    // Fora de uma requisição (jobs, testes) os links ficam relativos
+    private String base() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos == null) {
+            return "";
+        }
+        String base = (String) atributos.getAttribute(BASE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (base == null) {
+            base = ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString();
+            atributos.setAttribute(BASE_ATTRIBUTE, base, RequestAttributes.SCOPE_REQUEST);
+        }
+        return base;
+    }
+}
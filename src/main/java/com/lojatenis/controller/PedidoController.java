@@ -3,20 +3,42 @@ package com.lojatenis.controller;
 import com.lojatenis.domain.enums.StatusPedido;
 import com.lojatenis.dto.request.PedidoCreateRequestDTO;
 import com.lojatenis.dto.response.PedidoResponseDTO;
+import com.lojatenis.dto.response.SolicitacaoPedidoResponseDTO;
+import com.lojatenis.exception.BusinessException;
+import com.lojatenis.security.UsuarioPrincipal;
+import com.lojatenis.service.PedidoExportService;
 import com.lojatenis.service.PedidoService;
+import com.lojatenis.service.SolicitacaoPedidoService;
+import com.lojatenis.util.Constants;
+import com.lojatenis.util.CursorUtils;
+import com.lojatenis.util.ValidationUtils;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 
 @RestController
@@ -26,9 +48,18 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 public class PedidoController {
 
     private final PedidoService pedidoService;
+    private final SolicitacaoPedidoService solicitacaoPedidoService;
+    private final PedidoExportService pedidoExportService;
+    private final LinkFactory linkFactory;
 
-    public PedidoController(PedidoService pedidoService) {
+    public PedidoController(PedidoService pedidoService,
+                            SolicitacaoPedidoService solicitacaoPedidoService,
+                            PedidoExportService pedidoExportService,
+                            LinkFactory linkFactory) {
         this.pedidoService = pedidoService;
+        this.solicitacaoPedidoService = solicitacaoPedidoService;
+        this.pedidoExportService = pedidoExportService;
+        this.linkFactory = linkFactory;
     }
 
     @GetMapping
@@ -79,6 +110,78 @@ public class PedidoController {
         return ResponseEntity.ok(pagedModel);
     }
 
+    // Modo cursor (opt-in via ?after=): keyset em (dataPedido, id) decrescentes, sem OFFSET e sem COUNT.
+    // Um "after" vazio retorna a primeira página; o link "next" carrega o próximo cursor.
+    @GetMapping(params = "after")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CollectionModel<PedidoResponseDTO>> findAllByCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) StatusPedido status) {
+
+        int limite = ValidationUtils.clampPageSize(size);
+        LocalDateTime dataPedido = null;
+        Long id = null;
+        if (!CursorUtils.isFirstPage(after)) {
+            String[] keys = CursorUtils.decode(after, 2);
+            dataPedido = CursorUtils.parseDateTime(keys[0]);
+            id = CursorUtils.parseId(keys[1]);
+        }
+
+        Slice<PedidoResponseDTO> pedidoSlice = pedidoService.findAllByKeyset(status, dataPedido, id, limite);
+
+        pedidoSlice.getContent().forEach(this::addSelfLink);
+
+        CollectionModel<PedidoResponseDTO> collectionModel = CollectionModel.of(pedidoSlice.getContent());
+        collectionModel.add(linkTo(methodOn(PedidoController.class)
+                .findAllByCursor(after, limite, status)).withSelfRel());
+
+        if (pedidoSlice.hasNext()) {
+            PedidoResponseDTO ultimo = pedidoSlice.getContent().get(pedidoSlice.getNumberOfElements() - 1);
+            collectionModel.add(linkTo(methodOn(PedidoController.class)
+                    .findAllByCursor(CursorUtils.encode(ultimo.getDataPedido(), ultimo.getId()), limite, status))
+                    .withRel("next"));
+        }
+
+        return ResponseEntity.ok(collectionModel);
+    }
+
+    // Exportação para conciliação: período [inicio, fim] em dias, escrita direto na resposta (sem paginação).
+    // Síncrona de propósito: um StreamingResponseBody ficaria sujeito ao timeout de requisições assíncronas.
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void export(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+                       @RequestParam(required = false) StatusPedido status,
+                       @RequestParam(defaultValue = "ndjson") String formato,
+                       @RequestParam(defaultValue = "false") boolean gzip,
+                       HttpServletResponse response) throws IOException {
+
+        if (fim.isBefore(inicio)) {
+            throw new BusinessException("Data final deve ser igual ou posterior à data inicial");
+        }
+
+        PedidoExportService.Formato tipo = "csv".equalsIgnoreCase(formato)
+                ? PedidoExportService.Formato.CSV
+                : PedidoExportService.Formato.NDJSON;
+        String arquivo = "pedidos-" + inicio + "-" + fim + (tipo == PedidoExportService.Formato.CSV ? ".csv" : ".ndjson");
+
+        response.setContentType(gzip ? "application/gzip"
+                : tipo == PedidoExportService.Formato.CSV ? Constants.TEXT_CSV_VALUE + ";charset=UTF-8"
+                : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + arquivo + (gzip ? ".gz" : "") + "\"");
+
+        OutputStream saida = gzip
+                ? new GZIPOutputStream(response.getOutputStream(), 64 * 1024)
+                : response.getOutputStream();
+        pedidoExportService.exportar(inicio.atStartOfDay(), fim.plusDays(1).atStartOfDay(), status, tipo, saida);
+        if (saida instanceof GZIPOutputStream gzipSaida) {
+            gzipSaida.finish();
+        }
+        saida.flush();
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or (hasRole('CLIENTE') and @pedidoService.isOwner(#id, authentication.name))")
     public ResponseEntity<PedidoResponseDTO> findById(@PathVariable Long id) {
@@ -118,14 +221,38 @@ public class PedidoController {
 
     @PostMapping
     @PreAuthorize("hasRole('CLIENTE') or hasRole('ADMIN')")
-    public ResponseEntity<PedidoResponseDTO> create(@Valid @RequestBody PedidoCreateRequestDTO requestDTO) {
-        PedidoResponseDTO createdPedido = pedidoService.create(requestDTO);
+    public ResponseEntity<PedidoResponseDTO> create(
+            @Valid @RequestBody PedidoCreateRequestDTO requestDTO,
+            @RequestHeader(value = Constants.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        PedidoResponseDTO createdPedido = pedidoService.create(requestDTO, idempotencyKey);
         addSelfLink(createdPedido);
         addRelatedLinks(createdPedido);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(createdPedido);
     }
 
+    // Modo assíncrono: grava a solicitação e responde 202; o pedido é criado em lote pelos workers
+    @PostMapping("/async")
+    @PreAuthorize("hasRole('CLIENTE') or hasRole('ADMIN')")
+    public ResponseEntity<SolicitacaoPedidoResponseDTO> createAsync(@Valid @RequestBody PedidoCreateRequestDTO requestDTO) {
+        SolicitacaoPedidoResponseDTO solicitacao = solicitacaoPedidoService.registrar(requestDTO);
+        addLinks(solicitacao);
+
+        return ResponseEntity.accepted()
+                .location(linkFactory.solicitacao(solicitacao.getId(), IanaLinkRelations.SELF_VALUE).toUri())
+                .body(solicitacao);
+    }
+
+    @GetMapping("/solicitacoes/{id}")
+    @PreAuthorize("hasRole('CLIENTE') or hasRole('ADMIN')")
+    public ResponseEntity<SolicitacaoPedidoResponseDTO> findSolicitacao(@PathVariable Long id,
+                                                                        @AuthenticationPrincipal UsuarioPrincipal principal) {
+        SolicitacaoPedidoResponseDTO solicitacao = solicitacaoPedidoService.findById(id, principal);
+        addLinks(solicitacao);
+
+        return ResponseEntity.ok(solicitacao);
+    }
+
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<PedidoResponseDTO> updateStatus(@PathVariable Long id,
@@ -145,22 +272,25 @@ public class PedidoController {
     }
 
     private void addSelfLink(PedidoResponseDTO pedido) {
-        pedido.add(linkTo(methodOn(PedidoController.class).findById(pedido.getId())).withSelfRel());
+        pedido.add(linkFactory.pedido(pedido.getId(), IanaLinkRelations.SELF_VALUE));
+    }
+
+    private void addLinks(SolicitacaoPedidoResponseDTO solicitacao) {
+        solicitacao.add(linkFactory.solicitacao(solicitacao.getId(), IanaLinkRelations.SELF_VALUE));
+        if (solicitacao.getPedidoId() != null) {
+            solicitacao.add(linkFactory.pedido(solicitacao.getPedidoId(), "pedido"));
+        }
     }
 
     private void addRelatedLinks(PedidoResponseDTO pedido) {
         // Links relacionados seguindo HATEOAS nível 3
-        pedido.add(linkTo(methodOn(PedidoController.class)
-                .updateStatus(pedido.getId(), null)).withRel("update-status"));
-        pedido.add(linkTo(methodOn(PedidoController.class)
-                .delete(pedido.getId())).withRel("cancel"));
-        pedido.add(linkTo(methodOn(PedidoController.class)
-                .findAll(0, 10, "dataPedido", null)).withRel("all-pedidos"));
+        pedido.add(linkFactory.statusPedido(pedido.getId()));
+        pedido.add(linkFactory.pedido(pedido.getId(), "cancel"));
+        pedido.add(linkFactory.todosPedidos());
 
         // Links para usuário
         if (pedido.getUsuario() != null) {
-            pedido.add(linkTo(methodOn(PedidoController.class)
-                    .findByUsuario(pedido.getUsuario().getId(), 0, 10, "dataPedido")).withRel("user-orders"));
+            pedido.add(linkFactory.pedidosDoUsuario(pedido.getUsuario().getId()));
         }
     }
 }
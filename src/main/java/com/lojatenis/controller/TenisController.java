@@ -1,22 +1,40 @@
 package com.lojatenis.controller;
 
 import com.lojatenis.dto.request.TenisCreateRequestDTO;
+import com.lojatenis.dto.request.TenisFiltroDTO;
+import com.lojatenis.dto.response.ImportacaoResultadoDTO;
+import com.lojatenis.dto.response.SugestaoResponseDTO;
+import com.lojatenis.dto.response.TenisBuscaResponseDTO;
 import com.lojatenis.dto.response.TenisResponseDTO;
+import com.lojatenis.service.AutocompleteIndex;
+import com.lojatenis.service.CatalogoCache;
+import com.lojatenis.service.TenisImportService;
 import com.lojatenis.service.TenisService;
+import com.lojatenis.util.Constants;
+import com.lojatenis.util.CursorUtils;
+import com.lojatenis.util.ValidationUtils;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 
@@ -27,9 +45,21 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 public class TenisController {
 
     private final TenisService tenisService;
-
-    public TenisController(TenisService tenisService) {
+    private final TenisImportService tenisImportService;
+    private final AutocompleteIndex autocompleteIndex;
+    private final CatalogoHttpCache httpCache;
+    private final LinkFactory linkFactory;
+
+    public TenisController(TenisService tenisService,
+                           TenisImportService tenisImportService,
+                           AutocompleteIndex autocompleteIndex,
+                           CatalogoHttpCache httpCache,
+                           LinkFactory linkFactory) {
         this.tenisService = tenisService;
+        this.tenisImportService = tenisImportService;
+        this.autocompleteIndex = autocompleteIndex;
+        this.httpCache = httpCache;
+        this.linkFactory = linkFactory;
     }
 
     @GetMapping
@@ -40,21 +70,24 @@ public class TenisController {
             @RequestParam(required = false) String nome,
             @RequestParam(required = false) String marca,
             @RequestParam(required = false) BigDecimal precoMin,
-            @RequestParam(required = false) BigDecimal precoMax) {
+            @RequestParam(required = false) BigDecimal precoMax,
+            @RequestParam(required = false) String cor,
+            @RequestParam(required = false) String material,
+            @RequestParam(required = false) Long categoriaId) {
+
+        // Catálogo inalterado desde a cópia do cliente: 304 sem consultar, mapear ou serializar
+        CatalogoCache.Versao versao = tenisService.getVersaoCatalogo();
+        String etag = httpCache.etagListagem(versao);
+        long ultimaAlteracao = versao.alteradoEm().toEpochMilli();
+        if (httpCache.naoModificado(etag, ultimaAlteracao)) {
+            return httpCache.respostaNaoModificada(etag, ultimaAlteracao);
+        }
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(sort));
-        Page<TenisResponseDTO> tenisPage;
-
-        // Aplicar filtros se fornecidos
-        if (nome != null && !nome.trim().isEmpty()) {
-            tenisPage = tenisService.findByNome(nome, pageable);
-        } else if (marca != null && !marca.trim().isEmpty()) {
-            tenisPage = tenisService.findByMarca(marca, pageable);
-        } else if (precoMin != null && precoMax != null) {
-            tenisPage = tenisService.findByPrecoRange(precoMin, precoMax, pageable);
-        } else {
-            tenisPage = tenisService.findAll(pageable);
-        }
+        TenisFiltroDTO filtro = new TenisFiltroDTO(nome, marca, precoMin, precoMax, cor, material, categoriaId);
+
+        // Todos os filtros fornecidos são combinados em uma única consulta
+        Page<TenisResponseDTO> tenisPage = tenisService.search(filtro, pageable);
 
         // Adicionar links HATEOAS para cada item
         tenisPage.getContent().forEach(this::addSelfLink);
@@ -72,28 +105,88 @@ public class TenisController {
 
         // Adicionar links de navegação
         pagedModel.add(linkTo(methodOn(TenisController.class)
-                .findAll(page, size, sort, nome, marca, precoMin, precoMax)).withSelfRel());
+                .findAll(page, size, sort, nome, marca, precoMin, precoMax, cor, material, categoriaId)).withSelfRel());
 
         if (tenisPage.hasNext()) {
             pagedModel.add(linkTo(methodOn(TenisController.class)
-                    .findAll(page + 1, size, sort, nome, marca, precoMin, precoMax)).withRel("next"));
+                    .findAll(page + 1, size, sort, nome, marca, precoMin, precoMax, cor, material, categoriaId)).withRel("next"));
         }
 
         if (tenisPage.hasPrevious()) {
             pagedModel.add(linkTo(methodOn(TenisController.class)
-                    .findAll(page - 1, size, sort, nome, marca, precoMin, precoMax)).withRel("prev"));
+                    .findAll(page - 1, size, sort, nome, marca, precoMin, precoMax, cor, material, categoriaId)).withRel("prev"));
+        }
+
+        return httpCache.ok(versao, tenisService.getVersaoCatalogo(), etag, ultimaAlteracao).body(pagedModel);
+    }
+
+    // Modo cursor (opt-in via ?after=): keyset em id, sem OFFSET e sem COUNT.
+    // Um "after" vazio retorna a primeira página; o link "next" carrega o próximo cursor.
+    @GetMapping(params = "after")
+    public ResponseEntity<CollectionModel<TenisResponseDTO>> findAllByCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size) {
+
+        CatalogoCache.Versao versao = tenisService.getVersaoCatalogo();
+        String etag = httpCache.etagListagem(versao);
+        long ultimaAlteracao = versao.alteradoEm().toEpochMilli();
+        if (httpCache.naoModificado(etag, ultimaAlteracao)) {
+            return httpCache.respostaNaoModificada(etag, ultimaAlteracao);
+        }
+
+        int limite = ValidationUtils.clampPageSize(size);
+        Long afterId = CursorUtils.isFirstPage(after) ? 0L : CursorUtils.parseId(CursorUtils.decode(after, 1)[0]);
+        Slice<TenisResponseDTO> tenisSlice = tenisService.findAllAfter(afterId, limite);
+
+        tenisSlice.getContent().forEach(this::addSelfLink);
+
+        CollectionModel<TenisResponseDTO> collectionModel = CollectionModel.of(tenisSlice.getContent());
+        collectionModel.add(linkTo(methodOn(TenisController.class)
+                .findAllByCursor(after, limite)).withSelfRel());
+
+        if (tenisSlice.hasNext()) {
+            TenisResponseDTO ultimo = tenisSlice.getContent().get(tenisSlice.getNumberOfElements() - 1);
+            collectionModel.add(linkTo(methodOn(TenisController.class)
+                    .findAllByCursor(CursorUtils.encode(ultimo.getId()), limite)).withRel("next"));
         }
 
-        return ResponseEntity.ok(pagedModel);
+        return httpCache.ok(versao, tenisService.getVersaoCatalogo(), etag, ultimaAlteracao).body(collectionModel);
+    }
+
+    // Busca textual com ranking; "trecho" traz os termos encontrados entre <mark></mark>
+    @GetMapping("/busca")
+    public ResponseEntity<TenisBuscaResponseDTO> buscar(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        Pageable pageable = PageRequest.of(Math.max(page, 0), ValidationUtils.clampPageSize(size));
+        return ResponseEntity.ok(tenisService.buscarTexto(q, pageable));
+    }
+
+    // Sugestões para a caixa de busca, servidas do índice em memória (sem acesso ao banco)
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<SugestaoResponseDTO>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(autocompleteIndex.sugerir(q, limite));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<TenisResponseDTO> findById(@PathVariable Long id) {
+        // DTO vem do cache do catálogo; em um 304 não há links nem serialização
+        CatalogoCache.Versao versao = tenisService.getVersaoCatalogo();
         TenisResponseDTO tenis = tenisService.findById(id);
+        String etag = httpCache.etag(tenis, versao);
+        long ultimaAlteracao = httpCache.ultimaAlteracao(tenis, versao);
+        if (httpCache.naoModificado(etag, ultimaAlteracao)) {
+            return httpCache.respostaNaoModificada(etag, ultimaAlteracao);
+        }
+
         addSelfLink(tenis);
         addRelatedLinks(tenis);
 
-        return ResponseEntity.ok(tenis);
+        return httpCache.ok(versao, tenisService.getVersaoCatalogo(), etag, ultimaAlteracao).body(tenis);
     }
 
     @PostMapping
@@ -106,6 +199,19 @@ public class TenisController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTenis);
     }
 
+    // Importação em lote: corpo NDJSON (um tênis por linha) ou CSV com cabeçalho
+    // nome,marca,modelo,preco,descricao,cor,material,categoriaIds (IDs separados por "|")
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, Constants.TEXT_CSV_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportacaoResultadoDTO> importar(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                           InputStream body) throws IOException {
+        TenisImportService.Formato formato = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                ? TenisImportService.Formato.NDJSON
+                : TenisImportService.Formato.CSV;
+
+        return ResponseEntity.ok(tenisImportService.importar(body, formato));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<TenisResponseDTO> update(@PathVariable Long id,
@@ -124,20 +230,19 @@ public class TenisController {
         return ResponseEntity.noContent().build();
     }
 
-    private void addSelfLink(TenisResponseDTO tenis) {
-        tenis.add(linkTo(methodOn(TenisController.class).findById(tenis.getId())).withSelfRel());
+    // Package-private para os benchmarks JMH (src/jmh/java)
+    void addSelfLink(TenisResponseDTO tenis) {
+        tenis.add(linkFactory.tenis(tenis.getId(), IanaLinkRelations.SELF_VALUE));
     }
 
-    private void addRelatedLinks(TenisResponseDTO tenis) {
-        tenis.add(linkTo(methodOn(TenisController.class).update(tenis.getId(), null)).withRel("update"));
-        tenis.add(linkTo(methodOn(TenisController.class).delete(tenis.getId())).withRel("delete"));
-        tenis.add(linkTo(methodOn(TenisController.class)
-                .findAll(0, 10, "id", null, null, null, null)).withRel("all-tenis"));
+    void addRelatedLinks(TenisResponseDTO tenis) {
+        tenis.add(linkFactory.tenis(tenis.getId(), "update"));
+        tenis.add(linkFactory.tenis(tenis.getId(), "delete"));
+        tenis.add(linkFactory.todosTenis());
 
         // Links para categorias relacionadas
         tenis.getCategorias().forEach(categoria -> {
-            categoria.add(linkTo(methodOn(CategoriaController.class)
-                    .findById(categoria.getId())).withRel("categoria"));
+            categoria.add(linkFactory.categoria(categoria.getId(), "categoria"));
         });
     }
 }
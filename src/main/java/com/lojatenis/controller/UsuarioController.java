@@ -3,12 +3,17 @@ package com.lojatenis.controller;
 import com.lojatenis.dto.request.UsuarioCreateRequestDTO;
 import com.lojatenis.dto.response.UsuarioResponseDTO;
 import com.lojatenis.service.UsuarioService;
+import com.lojatenis.util.CursorUtils;
+import com.lojatenis.util.ValidationUtils;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,9 +30,11 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 public class UsuarioController {
 
     private final UsuarioService usuarioService;
+    private final LinkFactory linkFactory;
 
-    public UsuarioController(UsuarioService usuarioService) {
+    public UsuarioController(UsuarioService usuarioService, LinkFactory linkFactory) {
         this.usuarioService = usuarioService;
+        this.linkFactory = linkFactory;
     }
 
     @GetMapping
@@ -70,6 +77,33 @@ public class UsuarioController {
         return ResponseEntity.ok(pagedModel);
     }
 
+    // Modo cursor (opt-in via ?after=): keyset em id, sem OFFSET e sem COUNT.
+    // Um "after" vazio retorna a primeira página; o link "next" carrega o próximo cursor.
+    @GetMapping(params = "after")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CollectionModel<UsuarioResponseDTO>> findAllByCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size) {
+
+        int limite = ValidationUtils.clampPageSize(size);
+        Long afterId = CursorUtils.isFirstPage(after) ? 0L : CursorUtils.parseId(CursorUtils.decode(after, 1)[0]);
+        Slice<UsuarioResponseDTO> usuarioSlice = usuarioService.findAllAfter(afterId, limite);
+
+        usuarioSlice.getContent().forEach(this::addSelfLink);
+
+        CollectionModel<UsuarioResponseDTO> collectionModel = CollectionModel.of(usuarioSlice.getContent());
+        collectionModel.add(linkTo(methodOn(UsuarioController.class)
+                .findAllByCursor(after, limite)).withSelfRel());
+
+        if (usuarioSlice.hasNext()) {
+            UsuarioResponseDTO ultimo = usuarioSlice.getContent().get(usuarioSlice.getNumberOfElements() - 1);
+            collectionModel.add(linkTo(methodOn(UsuarioController.class)
+                    .findAllByCursor(CursorUtils.encode(ultimo.getId()), limite)).withRel("next"));
+        }
+
+        return ResponseEntity.ok(collectionModel);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<UsuarioResponseDTO> findById(@PathVariable Long id) {
@@ -109,17 +143,16 @@ public class UsuarioController {
     }
 
     private void addSelfLink(UsuarioResponseDTO usuario) {
-        usuario.add(linkTo(methodOn(UsuarioController.class).findById(usuario.getId())).withSelfRel());
+        usuario.add(linkFactory.usuario(usuario.getId(), IanaLinkRelations.SELF_VALUE));
     }
 
     private void addRelatedLinks(UsuarioResponseDTO usuario) {
         // Links relacionados seguindo HATEOAS nível 3
-        usuario.add(linkTo(methodOn(UsuarioController.class).update(usuario.getId(), null)).withRel("update"));
-        usuario.add(linkTo(methodOn(UsuarioController.class).delete(usuario.getId())).withRel("delete"));
-        usuario.add(linkTo(methodOn(UsuarioController.class).findAll(0, 10, "id")).withRel("all-usuarios"));
+        usuario.add(linkFactory.usuario(usuario.getId(), "update"));
+        usuario.add(linkFactory.usuario(usuario.getId(), "delete"));
+        usuario.add(linkFactory.todosUsuarios());
 
         // Link para pedidos do usuário
-        usuario.add(linkTo(methodOn(PedidoController.class)
-                .findByUsuario(usuario.getId(), 0, 10, "dataPedido")).withRel("user-orders"));
+        usuario.add(linkFactory.pedidosDoUsuario(usuario.getId()));
     }
 }
@@ -0,0 +1,73 @@
+package com.lojatenis.controller;
+
+import com.lojatenis.dto.projection.TenisMaisVendidoProjection;
+import com.lojatenis.dto.projection.VendasPorDiaProjection;
+import com.lojatenis.dto.projection.VendasPorGrupoProjection;
+import com.lojatenis.dto.response.BackfillResultadoDTO;
+import com.lojatenis.service.VendasService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Relatórios de vendas servidos pelo rollup diário (vendas_diarias), sem varrer itens de pedido
+@RestController
+@RequestMapping("/vendas")
+@Validated
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+public class VendasController {
+
+    private final VendasService vendasService;
+
+    public VendasController(VendasService vendasService) {
+        this.vendasService = vendasService;
+    }
+
+    @GetMapping("/mais-vendidos")
+    public ResponseEntity<List<TenisMaisVendidoProjection>> findMaisVendidos(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(defaultValue = "10") int limite) {
+
+        return ResponseEntity.ok(vendasService.findMaisVendidos(inicio, fim, limite));
+    }
+
+    @GetMapping("/receita/dia")
+    public ResponseEntity<List<VendasPorDiaProjection>> findReceitaPorDia(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+
+        return ResponseEntity.ok(vendasService.findReceitaPorDia(inicio, fim));
+    }
+
+    @GetMapping("/receita/marca")
+    public ResponseEntity<List<VendasPorGrupoProjection>> findReceitaPorMarca(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+
+        return ResponseEntity.ok(vendasService.findReceitaPorMarca(inicio, fim));
+    }
+
+    @GetMapping("/receita/categoria")
+    public ResponseEntity<List<VendasPorGrupoProjection>> findReceitaPorCategoria(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+
+        return ResponseEntity.ok(vendasService.findReceitaPorCategoria(inicio, fim));
+    }
+
+    // Reconstrói o rollup do período a partir dos pedidos (carga inicial ou correção de histórico)
+    @PostMapping("/backfill")
+    public ResponseEntity<BackfillResultadoDTO> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+
+        return ResponseEntity.ok(vendasService.backfill(inicio, fim));
+    }
+}
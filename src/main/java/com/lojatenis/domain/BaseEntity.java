@@ -12,8 +12,10 @@ import java.time.LocalDateTime;
 @Getter @Setter
 public abstract class BaseEntity {
 
+    // Sequência por entidade (<entidade>_seq) com otimizador pooled (allocationSize 50): os IDs são
+    // reservados em blocos, o que mantém o batch de INSERTs do Hibernate ativo (IDENTITY o desativa)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @CreationTimestamp
@@ -0,0 +1,36 @@
+package com.lojatenis.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Chave do header Idempotency-Key com o snapshot da resposta; removida fisicamente ao expirar
+@Entity
+@Table(name = "chaves_idempotencia",
+        indexes = @Index(name = "idx_chaves_idempotencia_expires_at", columnList = "expires_at"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ChaveIdempotencia {
+
+    @Id
+    @Column(length = 150)
+    private String chave;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "pedido_id")
+    private Long pedidoId;
+
+    @Column(columnDefinition = "TEXT")
+    private String resposta;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,25 @@
+package com.lojatenis.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Saldo de um tênis em um tamanho; a constraint única também serve de índice para as reservas
+@Entity
+@Table(name = "estoque",
+        uniqueConstraints = @UniqueConstraint(name = "uk_estoque_tenis_tamanho", columnNames = {"tenis_id", "tamanho"}))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class Estoque extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tenis_id", nullable = false)
+    private Tenis tenis;
+
+    @Column(nullable = false)
+    private Integer tamanho;
+
+    @Column(nullable = false)
+    private Integer quantidade;
+}
@@ -0,0 +1,42 @@
+package com.lojatenis.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Refresh token rotativo: só o SHA-256 do valor entregue ao cliente é gravado. Tokens usados
+// permanecem até expirar para detectar reuso, que revoga a família inteira (todas as rotações do mesmo login).
+@Entity
+@Table(name = "refresh_tokens",
+        indexes = {
+                @Index(name = "idx_refresh_tokens_familia", columnList = "familia"),
+                @Index(name = "idx_refresh_tokens_usuario_id", columnList = "usuario_id"),
+                @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+        })
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false, length = 36)
+    private String familia;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "usuario_id", nullable = false)
+    private Usuario usuario;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "usado_em")
+    private LocalDateTime usadoEm;
+}
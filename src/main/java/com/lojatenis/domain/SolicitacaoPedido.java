@@ -0,0 +1,37 @@
+package com.lojatenis.domain;
+
+import com.lojatenis.domain.enums.StatusSolicitacao;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Outbox durável dos pedidos recebidos em modo assíncrono (POST /pedidos/async)
+@Entity
+@Table(name = "solicitacoes_pedido",
+        indexes = @Index(name = "idx_solicitacoes_pedido_status", columnList = "status, created_at"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class SolicitacaoPedido extends BaseEntity {
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    // PedidoCreateRequestDTO serializado
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusSolicitacao status = StatusSolicitacao.PENDENTE;
+
+    @Column(name = "pedido_id")
+    private Long pedidoId;
+
+    @Column(length = 500)
+    private String erro;
+
+    // Falhas inesperadas já registradas; o default permite adicionar a coluna em tabelas com dados
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int tentativas = 0;
+}
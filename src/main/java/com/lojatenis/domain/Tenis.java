@@ -36,6 +36,10 @@ public class Tenis extends BaseEntity {
 
     private String material;
 
+    // SHA-256 do conteúdo da última importação; a importação em lote pula linhas sem mudança
+    @Column(name = "hash_conteudo", length = 64)
+    private String hashConteudo;
+
     // Relacionamento N-N com Categoria
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
@@ -0,0 +1,35 @@
+package com.lojatenis.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Rollup de vendas por dia e tênis (pedidos não cancelados), alimentado pelos deltas de vendas_pendentes.
+// Totais por marca/categoria saem da junção destas linhas com tenis/tenis_categoria.
+@Entity
+@Table(name = "vendas_diarias")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class VendaDiaria {
+
+    @EmbeddedId
+    private VendaDiariaId id;
+
+    @MapsId("tenisId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tenis_id", nullable = false)
+    private Tenis tenis;
+
+    @Column(nullable = false)
+    private Long quantidade;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal receita;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,23 @@
+package com.lojatenis.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @EqualsAndHashCode
+public class VendaDiariaId implements Serializable {
+
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @Column(name = "tenis_id", nullable = false)
+    private Long tenisId;
+}
@@ -0,0 +1,36 @@
+package com.lojatenis.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Delta de vendas gravado na transação do pedido (venda ou estorno). Só INSERT: pedidos concorrentes do
+// mesmo tênis não disputam a linha de vendas_diarias. VendasService.consolidar soma os deltas no rollup.
+@Entity
+@Table(name = "vendas_pendentes",
+        indexes = @Index(name = "idx_vendas_pendentes_dia", columnList = "dia"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class VendaPendente {
+
+    // Gravado só por INSERT nativo, sem batch do Hibernate: IDENTITY basta
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @Column(name = "tenis_id", nullable = false)
+    private Long tenisId;
+
+    @Column(nullable = false)
+    private Long quantidade;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal receita;
+}
@@ -0,0 +1,5 @@
+package com.lojatenis.domain.enums;
+
+public enum StatusSolicitacao {
+    PENDENTE, PROCESSADA, REJEITADA
+}
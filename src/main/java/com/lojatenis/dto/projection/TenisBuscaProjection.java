@@ -0,0 +1,21 @@
+package com.lojatenis.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+// Resultado da busca textual: dados da listagem + relevância (ts_rank) e trecho destacado (ts_headline)
+@Getter
+@AllArgsConstructor
+public class TenisBuscaProjection {
+    private Long id;
+    private String nome;
+    private String marca;
+    private String modelo;
+    private BigDecimal preco;
+    private String cor;
+    private String material;
+    private float relevancia;
+    private String trecho;
+}
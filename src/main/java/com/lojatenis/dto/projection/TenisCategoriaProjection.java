@@ -0,0 +1,14 @@
+package com.lojatenis.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Par tênis/categoria carregado em lote para uma página da listagem
+@Getter
+@AllArgsConstructor
+public class TenisCategoriaProjection {
+    private Long tenisId;
+    private Long categoriaId;
+    private String nome;
+    private String descricao;
+}
@@ -0,0 +1,22 @@
+package com.lojatenis.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Projeção enxuta usada na listagem do catálogo (sem descricao e sem categorias)
+@Getter
+@AllArgsConstructor
+public class TenisListagemProjection {
+    private Long id;
+    private String nome;
+    private String marca;
+    private String modelo;
+    private BigDecimal preco;
+    private String cor;
+    private String material;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
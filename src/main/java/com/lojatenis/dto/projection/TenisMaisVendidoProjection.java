@@ -0,0 +1,17 @@
+package com.lojatenis.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@AllArgsConstructor
+public class TenisMaisVendidoProjection {
+    private Long tenisId;
+    private String nome;
+    private String marca;
+    private String modelo;
+    private Long quantidade;
+    private BigDecimal receita;
+}
@@ -0,0 +1,15 @@
+package com.lojatenis.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class VendasPorDiaProjection {
+    private LocalDate dia;
+    private Long quantidade;
+    private BigDecimal receita;
+}
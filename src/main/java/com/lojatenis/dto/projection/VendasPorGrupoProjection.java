@@ -0,0 +1,15 @@
+package com.lojatenis.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+// Totais agrupados por marca ou categoria
+@Getter
+@AllArgsConstructor
+public class VendasPorGrupoProjection {
+    private String grupo;
+    private Long quantidade;
+    private BigDecimal receita;
+}
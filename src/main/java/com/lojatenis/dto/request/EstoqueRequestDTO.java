@@ -0,0 +1,23 @@
+package com.lojatenis.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstoqueRequestDTO {
+
+    @NotNull(message = "Tamanho é obrigatório")
+    @Min(value = 30, message = "Tamanho mínimo é 30")
+    @Max(value = 50, message = "Tamanho máximo é 50")
+    private Integer tamanho;
+
+    @NotNull(message = "Quantidade é obrigatória")
+    @Min(value = 0, message = "Quantidade não pode ser negativa")
+    private Integer quantidade;
+}
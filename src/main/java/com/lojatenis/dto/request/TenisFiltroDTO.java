@@ -0,0 +1,20 @@
+package com.lojatenis.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenisFiltroDTO {
+    private String nome;
+    private String marca;
+    private BigDecimal precoMin;
+    private BigDecimal precoMax;
+    private String cor;
+    private String material;
+    private Long categoriaId;
+}
@@ -0,0 +1,17 @@
+package com.lojatenis.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackfillResultadoDTO {
+    private LocalDate inicio;
+    private LocalDate fim;
+    private int blocos;
+    private long linhas;
+}
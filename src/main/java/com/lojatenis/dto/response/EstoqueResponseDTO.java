@@ -0,0 +1,18 @@
+package com.lojatenis.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.hateoas.RepresentationModel;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstoqueResponseDTO extends RepresentationModel<EstoqueResponseDTO> {
+    private Long tenisId;
+    private Integer tamanho;
+    private Integer quantidade;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,21 @@
+package com.lojatenis.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoResultadoDTO {
+    private long totalLinhas;
+    private long criados;
+    private long atualizados;
+    private long inalterados;
+    private long rejeitados;
+    // Limitada a loja.importacao.max-erros; "rejeitados" conta todas as linhas com erro
+    private List<ErroImportacaoDTO> erros = new ArrayList<>();
+}
@@ -13,4 +13,6 @@ public class JwtResponseDTO {
     private String token;
     private String type = "Bearer";
     private Date expiresAt;
+    private String refreshToken;
+    private Date refreshExpiresAt;
 }
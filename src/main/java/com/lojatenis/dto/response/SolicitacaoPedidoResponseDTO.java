@@ -0,0 +1,21 @@
+package com.lojatenis.dto.response;
+
+import com.lojatenis.domain.enums.StatusSolicitacao;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.hateoas.RepresentationModel;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolicitacaoPedidoResponseDTO extends RepresentationModel<SolicitacaoPedidoResponseDTO> {
+    private Long id;
+    private StatusSolicitacao status;
+    private Long pedidoId;
+    private String erro;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
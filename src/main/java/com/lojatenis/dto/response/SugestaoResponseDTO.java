@@ -0,0 +1,14 @@
+package com.lojatenis.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Imutável: as instâncias ficam no índice de autocomplete e são compartilhadas entre requisições
+@Getter
+@AllArgsConstructor
+public class SugestaoResponseDTO {
+    private final Long id;
+    private final String nome;
+    private final String marca;
+    private final String modelo;
+}
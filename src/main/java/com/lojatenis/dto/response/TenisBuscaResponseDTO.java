@@ -0,0 +1,20 @@
+package com.lojatenis.dto.response;
+
+import com.lojatenis.dto.projection.TenisBuscaProjection;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenisBuscaResponseDTO {
+    private String termo;
+    private List<TenisBuscaProjection> resultados;
+    private int pagina;
+    private int tamanho;
+    private long totalElementos;
+    private int totalPaginas;
+}
@@ -0,0 +1,21 @@
+package com.lojatenis.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// Publicado por TenisService/CategoriaService a cada alteração do catálogo.
+// id nulo indica que qualquer item do tipo pode ter mudado.
+@Getter
+@AllArgsConstructor
+@ToString
+public class CatalogoAlteradoEvent {
+
+    public enum Tipo {
+        TENIS,
+        CATEGORIA
+    }
+
+    private final Tipo tipo;
+    private final Long id;
+}
@@ -0,0 +1,14 @@
+package com.lojatenis.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// Publicado após gravar uma solicitação assíncrona; o processador a enfileira depois do commit
+@Getter
+@AllArgsConstructor
+@ToString
+public class SolicitacaoPedidoRegistradaEvent {
+
+    private final Long id;
+}
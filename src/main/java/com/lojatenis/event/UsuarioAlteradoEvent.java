@@ -0,0 +1,14 @@
+package com.lojatenis.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// Publicado por UsuarioService quando dados que compõem o principal (email, role, senha) mudam
+@Getter
+@AllArgsConstructor
+@ToString
+public class UsuarioAlteradoEvent {
+
+    private final String email;
+}
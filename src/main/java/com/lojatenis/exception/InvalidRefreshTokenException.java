@@ -0,0 +1,9 @@
+package com.lojatenis.exception;
+
+// Refresh token desconhecido, expirado, já usado ou de usuário removido (401)
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
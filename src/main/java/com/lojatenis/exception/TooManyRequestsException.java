@@ -0,0 +1,17 @@
+package com.lojatenis.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+// Rejeição por sobrecarga (429); retryAfter vai no header Retry-After
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,37 @@
+package com.lojatenis.repository;
+
+import com.lojatenis.domain.ChaveIdempotencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ChaveIdempotenciaRepository extends JpaRepository<ChaveIdempotencia, String> {
+
+    // Retorna 0 se a chave já existe. Com uma transação concorrente ainda aberta para a mesma chave,
+    // o INSERT aguarda o commit/rollback dela no índice único em vez de disputar a criação do pedido.
+    @Modifying
+    @Query(value = "INSERT INTO chaves_idempotencia (chave, request_hash, created_at, expires_at) " +
+            "VALUES (:chave, :requestHash, :createdAt, :expiresAt) ON CONFLICT (chave) DO NOTHING",
+            nativeQuery = true)
+    int tryInsert(@Param("chave") String chave, @Param("requestHash") String requestHash,
+                  @Param("createdAt") LocalDateTime createdAt, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE ChaveIdempotencia c SET c.pedidoId = :pedidoId, c.resposta = :resposta WHERE c.chave = :chave")
+    void registrarResposta(@Param("chave") String chave, @Param("pedidoId") Long pedidoId,
+                           @Param("resposta") String resposta);
+
+    // Remoção em lotes curtos para não manter locks nem gerar uma transação gigante
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM chaves_idempotencia WHERE chave IN (" +
+            "SELECT chave FROM chaves_idempotencia WHERE expires_at < :agora LIMIT :lote)",
+            nativeQuery = true)
+    int deleteExpired(@Param("agora") LocalDateTime agora, @Param("lote") int lote);
+}
@@ -0,0 +1,42 @@
+package com.lojatenis.repository;
+
+import com.lojatenis.domain.Estoque;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EstoqueRepository extends JpaRepository<Estoque, Long> {
+
+    @Query("SELECT e FROM Estoque e WHERE e.deleted = false AND e.tenis.id = :tenisId ORDER BY e.tamanho")
+    List<Estoque> findActiveByTenisId(@Param("tenisId") Long tenisId);
+
+    // Baixa condicional: retorna 0 quando o saldo não cobre a quantidade, sem leitura prévia
+    @Modifying
+    @Query("UPDATE Estoque e SET e.quantidade = e.quantidade - :quantidade, e.updatedAt = LOCAL DATETIME " +
+            "WHERE e.tenis.id = :tenisId AND e.tamanho = :tamanho AND e.deleted = false " +
+            "AND e.quantidade >= :quantidade")
+    int reservar(@Param("tenisId") Long tenisId, @Param("tamanho") Integer tamanho,
+                 @Param("quantidade") Integer quantidade);
+
+    @Modifying
+    @Query("UPDATE Estoque e SET e.quantidade = e.quantidade + :quantidade, e.updatedAt = LOCAL DATETIME " +
+            "WHERE e.tenis.id = :tenisId AND e.tamanho = :tamanho AND e.deleted = false")
+    int liberar(@Param("tenisId") Long tenisId, @Param("tamanho") Integer tamanho,
+                @Param("quantidade") Integer quantidade);
+
+    // Upsert atômico: PUTs concorrentes para um tamanho novo não disputam o INSERT na constraint única.
+    // Cada nextval reserva um bloco inteiro do otimizador pooled, então o ID nunca colide com os do Hibernate.
+    @Modifying
+    @Query(value = "INSERT INTO estoque (id, tenis_id, tamanho, quantidade, created_at, updated_at, deleted) " +
+            "VALUES (nextval('estoque_seq'), :tenisId, :tamanho, :quantidade, now(), now(), false) " +
+            "ON CONFLICT (tenis_id, tamanho) DO UPDATE SET " +
+            "quantidade = EXCLUDED.quantidade, updated_at = now(), deleted = false",
+            nativeQuery = true)
+    void definirQuantidade(@Param("tenisId") Long tenisId, @Param("tamanho") Integer tamanho,
+                           @Param("quantidade") Integer quantidade);
+}
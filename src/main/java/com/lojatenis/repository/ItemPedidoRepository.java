@@ -1,12 +1,19 @@
 package com.lojatenis.repository;
 
 import com.lojatenis.domain.ItemPedido;
+import com.lojatenis.domain.enums.StatusPedido;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemPedidoRepository extends JpaRepository<ItemPedido, Long> {
@@ -16,4 +23,16 @@ public interface ItemPedidoRepository extends JpaRepository<ItemPedido, Long> {
 
     @Query("SELECT i FROM ItemPedido i WHERE i.deleted = false AND i.tenis.id = :tenisId")
     List<ItemPedido> findActiveByTenisId(@Param("tenisId") Long tenisId);
+
+    // Exportação: itens com pedido, usuário e tênis (relações to-one, sem duplicar linhas) lidos por
+    // cursor JDBC em blocos de fetch size, ordenados por pedido para agrupar os itens de cada um
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM ItemPedido i JOIN FETCH i.pedido p JOIN FETCH p.usuario JOIN FETCH i.tenis " +
+            "WHERE i.deleted = false AND p.deleted = false AND p.dataPedido >= :inicio AND p.dataPedido < :fim " +
+            "AND p.status IN :status ORDER BY p.dataPedido, p.id, i.id")
+    Stream<ItemPedido> streamForExport(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim,
+                                       @Param("status") Collection<StatusPedido> status);
 }
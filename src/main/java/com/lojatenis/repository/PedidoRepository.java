@@ -4,30 +4,80 @@ import com.lojatenis.domain.Pedido;
 import com.lojatenis.domain.enums.StatusPedido;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
 
-    @Query("SELECT p FROM Pedido p WHERE p.deleted = false")
-    Page<Pedido> findAllActive(Pageable pageable);
+    // Paginação em duas fases: primeiro só os IDs da página, depois a hidratação com fetch join.
+    // Paginar diretamente com JOIN FETCH de coleção faria a paginação em memória.
+    @Query(value = "SELECT p.id FROM Pedido p WHERE p.deleted = false",
+            countQuery = "SELECT COUNT(p) FROM Pedido p WHERE p.deleted = false")
+    Page<Long> findActiveIds(Pageable pageable);
 
-    @Query("SELECT p FROM Pedido p WHERE p.deleted = false AND p.id = :id")
-    Optional<Pedido> findActiveById(@Param("id") Long id);
+    @Query(value = "SELECT p.id FROM Pedido p WHERE p.deleted = false AND p.usuario.id = :usuarioId",
+            countQuery = "SELECT COUNT(p) FROM Pedido p WHERE p.deleted = false AND p.usuario.id = :usuarioId")
+    Page<Long> findActiveIdsByUsuarioId(@Param("usuarioId") Long usuarioId, Pageable pageable);
+
+    @Query(value = "SELECT p.id FROM Pedido p WHERE p.deleted = false AND p.status = :status",
+            countQuery = "SELECT COUNT(p) FROM Pedido p WHERE p.deleted = false AND p.status = :status")
+    Page<Long> findActiveIdsByStatus(@Param("status") StatusPedido status, Pageable pageable);
+
+    // Paginação por keyset (cursor) em (dataPedido, id) decrescentes: sem OFFSET e sem COUNT.
+    // A comparação de row values vira um único limite de faixa em idx_pedidos_keyset (001); o
+    // equivalente com OR só é usado como filtro e percorre o índice desde o início.
+    @Query("SELECT p.id FROM Pedido p WHERE p.deleted = false ORDER BY p.dataPedido DESC, p.id DESC")
+    Slice<Long> findActiveIdsFirst(Pageable pageable);
+
+    @Query("SELECT p.id FROM Pedido p WHERE p.deleted = false AND " +
+            "(p.dataPedido, p.id) < (:dataPedido, :id) " +
+            "ORDER BY p.dataPedido DESC, p.id DESC")
+    Slice<Long> findActiveIdsBefore(@Param("dataPedido") LocalDateTime dataPedido,
+                                    @Param("id") Long id,
+                                    Pageable pageable);
 
-    @Query("SELECT p FROM Pedido p WHERE p.deleted = false AND p.usuario.id = :usuarioId")
-    Page<Pedido> findActiveByUsuarioId(@Param("usuarioId") Long usuarioId, Pageable pageable);
+    @Query("SELECT p.id FROM Pedido p WHERE p.deleted = false AND p.status = :status " +
+            "ORDER BY p.dataPedido DESC, p.id DESC")
+    Slice<Long> findActiveIdsByStatusFirst(@Param("status") StatusPedido status, Pageable pageable);
+
+    @Query("SELECT p.id FROM Pedido p WHERE p.deleted = false AND p.status = :status AND " +
+            "(p.dataPedido, p.id) < (:dataPedido, :id) " +
+            "ORDER BY p.dataPedido DESC, p.id DESC")
+    Slice<Long> findActiveIdsByStatusBefore(@Param("status") StatusPedido status,
+                                            @Param("dataPedido") LocalDateTime dataPedido,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+
+    @Query("SELECT DISTINCT p FROM Pedido p JOIN FETCH p.usuario " +
+            "LEFT JOIN FETCH p.itens i LEFT JOIN FETCH i.tenis WHERE p.id IN :ids")
+    List<Pedido> findAllWithItensByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"usuario", "itens", "itens.tenis"})
+    @Query("SELECT p FROM Pedido p WHERE p.deleted = false AND p.id = :id")
+    Optional<Pedido> findActiveWithItensById(@Param("id") Long id);
 
-    @Query("SELECT p FROM Pedido p WHERE p.deleted = false AND p.status = :status")
-    Page<Pedido> findActiveByStatus(@Param("status") StatusPedido status, Pageable pageable);
+    // Transições condicionais: retornam 0 quando outra transação mudou o pedido antes. O UPDATE
+    // concorrente espera o lock da linha e reavalia o WHERE, então só um cancelamento devolve o estoque.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Pedido p SET p.status = :novo, p.updatedAt = :agora " +
+            "WHERE p.id = :id AND p.deleted = false AND p.status = :atual")
+    int atualizarStatus(@Param("id") Long id, @Param("atual") StatusPedido atual,
+                        @Param("novo") StatusPedido novo, @Param("agora") LocalDateTime agora);
 
-    @Modifying
-    @Query("UPDATE Pedido p SET p.deleted = true WHERE p.id = :id")
-    void softDelete(@Param("id") Long id);
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Pedido p SET p.deleted = true, p.updatedAt = :agora " +
+            "WHERE p.id = :id AND p.deleted = false AND p.status = :status")
+    int softDeleteComStatus(@Param("id") Long id, @Param("status") StatusPedido status,
+                            @Param("agora") LocalDateTime agora);
 }
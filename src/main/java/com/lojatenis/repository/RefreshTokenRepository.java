@@ -0,0 +1,49 @@
+package com.lojatenis.repository;
+
+import com.lojatenis.domain.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    // Única leitura do refresh: busca pela PK já com o usuário (email, role e exclusão lógica)
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.usuario WHERE r.hash = :hash")
+    Optional<RefreshToken> findByHashComUsuario(@Param("hash") String hash);
+
+    // INSERT direto: com a PK atribuída, save() faria um SELECT antes (merge)
+    @Modifying
+    @Query(value = "INSERT INTO refresh_tokens (hash, familia, usuario_id, created_at, expires_at) " +
+            "VALUES (:hash, :familia, :usuarioId, :createdAt, :expiresAt)",
+            nativeQuery = true)
+    void inserir(@Param("hash") String hash, @Param("familia") String familia, @Param("usuarioId") Long usuarioId,
+                 @Param("createdAt") LocalDateTime createdAt, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Retorna 0 se outra requisição usou o token primeiro (reuso concorrente)
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.usadoEm = :agora WHERE r.hash = :hash AND r.usadoEm IS NULL")
+    int marcarUsado(@Param("hash") String hash, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.familia = :familia")
+    int deleteByFamilia(@Param("familia") String familia);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.usuario.id = :usuarioId")
+    int deleteByUsuarioId(@Param("usuarioId") Long usuarioId);
+
+    // Remoção em lotes curtos para não manter locks nem gerar uma transação gigante
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE hash IN (" +
+            "SELECT hash FROM refresh_tokens WHERE expires_at < :agora LIMIT :lote)",
+            nativeQuery = true)
+    int deleteExpired(@Param("agora") LocalDateTime agora, @Param("lote") int lote);
+}
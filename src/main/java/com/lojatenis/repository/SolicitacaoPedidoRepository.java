@@ -0,0 +1,46 @@
+package com.lojatenis.repository;
+
+import com.lojatenis.domain.SolicitacaoPedido;
+import com.lojatenis.domain.enums.StatusSolicitacao;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SolicitacaoPedidoRepository extends JpaRepository<SolicitacaoPedido, Long> {
+
+    @Query("SELECT s FROM SolicitacaoPedido s WHERE s.deleted = false AND s.id = :id")
+    Optional<SolicitacaoPedido> findActiveById(@Param("id") Long id);
+
+    // SKIP LOCKED: um ID enfileirado duas vezes (fila + varredura) é processado por um único worker
+    @Query(value = "SELECT * FROM solicitacoes_pedido WHERE id IN (:ids) AND status = 'PENDENTE' " +
+            "AND deleted = false ORDER BY id FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<SolicitacaoPedido> lockPendentes(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s.id FROM SolicitacaoPedido s WHERE s.deleted = false AND s.status = :status " +
+            "AND s.createdAt < :antes ORDER BY s.id")
+    List<Long> findIdsByStatusCreatedBefore(@Param("status") StatusSolicitacao status,
+                                            @Param("antes") LocalDateTime antes, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE SolicitacaoPedido s SET s.status = com.lojatenis.domain.enums.StatusSolicitacao.REJEITADA, " +
+            "s.erro = :erro, s.updatedAt = LOCAL DATETIME " +
+            "WHERE s.id = :id AND s.status = com.lojatenis.domain.enums.StatusSolicitacao.PENDENTE")
+    int rejeitar(@Param("id") Long id, @Param("erro") String erro);
+
+    // Conta a falha e, ao atingir o limite, tira a solicitação de PENDENTE (a varredura deixa de vê-la)
+    @Modifying
+    @Query(value = "UPDATE solicitacoes_pedido SET tentativas = tentativas + 1, erro = :erro, " +
+            "status = CASE WHEN tentativas + 1 >= :maxTentativas THEN 'REJEITADA' ELSE status END, " +
+            "updated_at = LOCALTIMESTAMP " +
+            "WHERE id = :id AND status = 'PENDENTE'", nativeQuery = true)
+    int registrarFalha(@Param("id") Long id, @Param("erro") String erro, @Param("maxTentativas") int maxTentativas);
+}
@@ -1,38 +1,74 @@
 package com.lojatenis.repository;
 
 import com.lojatenis.domain.Tenis;
-import org.springframework.data.domain.Page;
+import com.lojatenis.dto.projection.TenisCategoriaProjection;
+import com.lojatenis.dto.projection.TenisListagemProjection;
+import com.lojatenis.dto.response.SugestaoResponseDTO;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
-public interface TenisRepository extends JpaRepository<Tenis, Long> {
+public interface TenisRepository extends JpaRepository<Tenis, Long>, TenisRepositoryCustom {
 
-    @Query("SELECT t FROM Tenis t WHERE t.deleted = false")
-    Page<Tenis> findAllActive(Pageable pageable);
+    // Listagem do catálogo: DTO construído direto na consulta, sem entidades gerenciadas
+    String LISTAGEM_SELECT = "SELECT new com.lojatenis.dto.projection.TenisListagemProjection(" +
+            "t.id, t.nome, t.marca, t.modelo, t.preco, t.cor, t.material, t.createdAt, t.updatedAt) FROM Tenis t ";
+
+    // Paginação por keyset (cursor): sem OFFSET e sem COUNT
+    @Query(LISTAGEM_SELECT + "WHERE t.deleted = false AND t.id > :afterId ORDER BY t.id")
+    Slice<TenisListagemProjection> findListagemAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Carga do índice de autocomplete (somente os campos indexados)
+    String SUGESTAO_SELECT = "SELECT new com.lojatenis.dto.response.SugestaoResponseDTO(" +
+            "t.id, t.nome, t.marca, t.modelo) FROM Tenis t ";
+
+    @Query(SUGESTAO_SELECT + "WHERE t.deleted = false")
+    List<SugestaoResponseDTO> findAllSugestoes();
+
+    @Query(SUGESTAO_SELECT + "WHERE t.deleted = false AND t.id = :id")
+    Optional<SugestaoResponseDTO> findSugestaoById(@Param("id") Long id);
+
+    // Categorias de todos os tênis de uma página em uma única consulta
+    @Query("SELECT new com.lojatenis.dto.projection.TenisCategoriaProjection(t.id, c.id, c.nome, c.descricao) " +
+            "FROM Tenis t JOIN t.categorias c WHERE t.id IN :tenisIds")
+    List<TenisCategoriaProjection> findCategoriasByTenisIds(@Param("tenisIds") Collection<Long> tenisIds);
 
     @Query("SELECT t FROM Tenis t WHERE t.deleted = false AND t.id = :id")
     Optional<Tenis> findActiveById(@Param("id") Long id);
 
-    @Query("SELECT t FROM Tenis t WHERE t.deleted = false AND " +
-            "LOWER(t.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
-    Page<Tenis> findByNomeContainingIgnoreCase(@Param("nome") String nome, Pageable pageable);
+    @Query("SELECT t FROM Tenis t WHERE t.deleted = false AND t.id IN :ids")
+    List<Tenis> findActiveByIds(@Param("ids") Collection<Long> ids);
+
+    // Busca em lote indexada por ID (uma única consulta para todos os IDs)
+    default Map<Long, Tenis> findActiveMapByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return findActiveByIds(ids).stream()
+                .collect(Collectors.toMap(Tenis::getId, Function.identity()));
+    }
 
-    @Query("SELECT t FROM Tenis t WHERE t.deleted = false AND " +
-            "LOWER(t.marca) LIKE LOWER(CONCAT('%', :marca, '%'))")
-    Page<Tenis> findByMarcaContainingIgnoreCase(@Param("marca") String marca, Pageable pageable);
+    // (marca, modelo) é único entre os ativos (uk_tenis_modelo_marca); idExcluido: o próprio tênis na atualização
+    @Query("SELECT COUNT(t) > 0 FROM Tenis t WHERE t.deleted = false AND t.marca = :marca " +
+            "AND t.modelo = :modelo AND (:idExcluido IS NULL OR t.id <> :idExcluido)")
+    boolean existsActiveByMarcaAndModelo(@Param("marca") String marca, @Param("modelo") String modelo,
+                                         @Param("idExcluido") Long idExcluido);
 
-    @Query("SELECT t FROM Tenis t WHERE t.deleted = false AND t.preco BETWEEN :precoMin AND :precoMax")
-    Page<Tenis> findByPrecoBetween(@Param("precoMin") BigDecimal precoMin,
-                                   @Param("precoMax") BigDecimal precoMax,
-                                   Pageable pageable);
+    // Candidatos ao upsert da importação em lote (chave marca + modelo), já com as categorias
+    @Query("SELECT t FROM Tenis t LEFT JOIN FETCH t.categorias WHERE t.deleted = false AND t.modelo IN :modelos")
+    List<Tenis> findActiveWithCategoriasByModeloIn(@Param("modelos") Collection<String> modelos);
 
     @Modifying
     @Query("UPDATE Tenis t SET t.deleted = true WHERE t.id = :id")
@@ -0,0 +1,15 @@
+package com.lojatenis.repository;
+
+import com.lojatenis.domain.Tenis;
+import com.lojatenis.dto.projection.TenisBuscaProjection;
+import com.lojatenis.dto.projection.TenisListagemProjection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface TenisRepositoryCustom {
+
+    Page<TenisListagemProjection> findListagem(Specification<Tenis> spec, Pageable pageable);
+
+    Page<TenisBuscaProjection> buscarTexto(String termo, Pageable pageable);
+}
@@ -0,0 +1,119 @@
+package com.lojatenis.repository;
+
+import com.lojatenis.domain.Tenis;
+import com.lojatenis.dto.projection.TenisBuscaProjection;
+import com.lojatenis.dto.projection.TenisListagemProjection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Busca combinada por Specification projetando direto no DTO da listagem (sem entidades gerenciadas)
+public class TenisRepositoryCustomImpl implements TenisRepositoryCustom {
+
+    // O trecho sai como HTML (<mark>): o texto de origem é escapado antes do ts_headline, então
+    // marcação gravada na descrição chega ao cliente como texto
+    private static final String TEXTO_ESCAPADO =
+            "replace(replace(replace(replace(replace(coalesce(t.descricao, t.nome), " +
+            "'&', '&amp;'), '<', '&lt;'), '>', '&gt;'), '\"', '&quot;'), '''', '&#39;')";
+
+    // Ranking e paginação só sobre o índice GIN; ts_headline (caro) roda apenas nas linhas da página
+    private static final String BUSCA_SQL =
+            "SELECT t.id, t.nome, t.marca, t.modelo, t.preco, t.cor, t.material, r.relevancia, " +
+            "ts_headline('pt_unaccent', " + TEXTO_ESCAPADO + ", r.q, " +
+            "'StartSel=<mark>, StopSel=</mark>, MaxWords=30, MinWords=10, MaxFragments=2, FragmentDelimiter=\" ... \"') AS trecho " +
+            "FROM (SELECT t2.id, q, ts_rank(t2.busca, q) AS relevancia " +
+            "      FROM tenis t2, websearch_to_tsquery('pt_unaccent', :termo) q " +
+            "      WHERE t2.deleted = false AND t2.busca @@ q " +
+            "      ORDER BY relevancia DESC, t2.id LIMIT :limite OFFSET :offset) r " +
+            "JOIN tenis t ON t.id = r.id " +
+            "ORDER BY r.relevancia DESC, t.id";
+
+    private static final String BUSCA_COUNT_SQL =
+            "SELECT count(*) FROM tenis t " +
+            "WHERE t.deleted = false AND t.busca @@ websearch_to_tsquery('pt_unaccent', :termo)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TenisListagemProjection> findListagem(Specification<Tenis> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TenisListagemProjection> query = cb.createQuery(TenisListagemProjection.class);
+        Root<Tenis> root = query.from(Tenis.class);
+
+        query.select(cb.construct(TenisListagemProjection.class,
+                root.get("id"), root.get("nome"), root.get("marca"), root.get("modelo"), root.get("preco"),
+                root.get("cor"), root.get("material"), root.get("createdAt"), root.get("updatedAt")));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<TenisListagemProjection> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        List<TenisListagemProjection> content = typedQuery.getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Page<TenisBuscaProjection> buscarTexto(String termo, Pageable pageable) {
+        List<Tuple> linhas = entityManager.createNativeQuery(BUSCA_SQL, Tuple.class)
+                .setParameter("termo", termo)
+                .setParameter("limite", pageable.getPageSize())
+                .setParameter("offset", pageable.getOffset())
+                .getResultList();
+
+        List<TenisBuscaProjection> content = linhas.stream()
+                .map(linha -> new TenisBuscaProjection(
+                        linha.get("id", Number.class).longValue(),
+                        linha.get("nome", String.class),
+                        linha.get("marca", String.class),
+                        linha.get("modelo", String.class),
+                        linha.get("preco", BigDecimal.class),
+                        linha.get("cor", String.class),
+                        linha.get("material", String.class),
+                        linha.get("relevancia", Number.class).floatValue(),
+                        linha.get("trecho", String.class)))
+                .toList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () ->
+                ((Number) entityManager.createNativeQuery(BUSCA_COUNT_SQL)
+                        .setParameter("termo", termo)
+                        .getSingleResult()).longValue());
+    }
+
+    private long count(Specification<Tenis> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Tenis> root = query.from(Tenis.class);
+        query.select(cb.count(root));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,90 @@
+package com.lojatenis.repository;
+
+import com.lojatenis.domain.Categoria;
+import com.lojatenis.domain.Tenis;
+import com.lojatenis.dto.request.TenisFiltroDTO;
+import jakarta.persistence.criteria.Join;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+public final class TenisSpecifications {
+
+    private TenisSpecifications() {
+        // Utility class
+    }
+
+    private static final char ESCAPE = '\\';
+
+    // Combina todos os filtros informados (AND); filtros vazios são ignorados
+    public static Specification<Tenis> fromFiltro(TenisFiltroDTO filtro) {
+        Specification<Tenis> spec = ativo();
+        if (hasText(filtro.getNome())) {
+            spec = spec.and(contem("nome", filtro.getNome()));
+        }
+        if (hasText(filtro.getMarca())) {
+            spec = spec.and(contem("marca", filtro.getMarca()));
+        }
+        if (filtro.getPrecoMin() != null) {
+            spec = spec.and(precoMinimo(filtro.getPrecoMin()));
+        }
+        if (filtro.getPrecoMax() != null) {
+            spec = spec.and(precoMaximo(filtro.getPrecoMax()));
+        }
+        if (hasText(filtro.getCor())) {
+            spec = spec.and(igual("cor", filtro.getCor()));
+        }
+        if (hasText(filtro.getMaterial())) {
+            spec = spec.and(igual("material", filtro.getMaterial()));
+        }
+        if (filtro.getCategoriaId() != null) {
+            spec = spec.and(daCategoria(filtro.getCategoriaId()));
+        }
+        return spec;
+    }
+
+    public static Specification<Tenis> ativo() {
+        return (root, query, cb) -> cb.isFalse(root.get("deleted"));
+    }
+
+    // LOWER(campo) LIKE '%valor%' - atendido pelos índices trigram (gin_trgm_ops) em lower(campo)
+    public static Specification<Tenis> contem(String campo, String valor) {
+        String padrao = "%" + escapeLike(normalizar(valor)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get(campo)), padrao, ESCAPE);
+    }
+
+    // LOWER(campo) = valor - atendido pelos índices funcionais em lower(campo)
+    public static Specification<Tenis> igual(String campo, String valor) {
+        String normalizado = normalizar(valor);
+        return (root, query, cb) -> cb.equal(cb.lower(root.get(campo)), normalizado);
+    }
+
+    public static Specification<Tenis> precoMinimo(BigDecimal precoMin) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("preco"), precoMin);
+    }
+
+    public static Specification<Tenis> precoMaximo(BigDecimal precoMax) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("preco"), precoMax);
+    }
+
+    // Join simples: filtrando por uma única categoria cada tênis aparece no máximo uma vez
+    public static Specification<Tenis> daCategoria(Long categoriaId) {
+        return (root, query, cb) -> {
+            Join<Tenis, Categoria> categoria = root.join("categorias");
+            return cb.equal(categoria.get("id"), categoriaId);
+        };
+    }
+
+    private static boolean hasText(String valor) {
+        return valor != null && !valor.trim().isEmpty();
+    }
+
+    private static String normalizar(String valor) {
+        return valor.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String escapeLike(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -3,11 +3,13 @@ package com.lojatenis.repository;
 import com.lojatenis.domain.Usuario;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -17,6 +19,10 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     @Query("SELECT u FROM Usuario u WHERE u.deleted = false")
     Page<Usuario> findAllActive(Pageable pageable);
 
+    // Paginação por keyset (cursor): sem OFFSET e sem COUNT
+    @Query("SELECT u FROM Usuario u WHERE u.deleted = false AND u.id > :afterId ORDER BY u.id")
+    Slice<Usuario> findActiveAfter(@Param("afterId") Long afterId, Pageable pageable);
+
     @Query("SELECT u FROM Usuario u WHERE u.deleted = false AND u.id = :id")
     Optional<Usuario> findActiveById(@Param("id") Long id);
 
@@ -35,4 +41,10 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     @Modifying
     @Query("UPDATE Usuario u SET u.deleted = true WHERE u.id = :id")
     void softDelete(@Param("id") Long id);
+
+    // Re-hash da senha com o custo atual (login bem-sucedido, fora de uma transação de serviço)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Usuario u SET u.senha = :senha WHERE u.deleted = false AND u.email = :email")
+    int updateSenhaByEmail(@Param("email") String email, @Param("senha") String senha);
 }
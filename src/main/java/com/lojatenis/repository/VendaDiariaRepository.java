@@ -0,0 +1,107 @@
+package com.lojatenis.repository;
+
+import com.lojatenis.domain.VendaDiaria;
+import com.lojatenis.domain.VendaDiariaId;
+import com.lojatenis.dto.projection.TenisMaisVendidoProjection;
+import com.lojatenis.dto.projection.VendasPorDiaProjection;
+import com.lojatenis.dto.projection.VendasPorGrupoProjection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface VendaDiariaRepository extends JpaRepository<VendaDiaria, VendaDiariaId> {
+
+    // Delta de um tênis no dia (negativo no estorno), na transação do pedido: só INSERT, sem trava de linha
+    @Modifying
+    @Query(value = "INSERT INTO vendas_pendentes (dia, tenis_id, quantidade, receita) " +
+            "VALUES (:dia, :tenisId, :quantidade, :receita)",
+            nativeQuery = true)
+    void registrarPendente(@Param("dia") LocalDate dia, @Param("tenisId") Long tenisId,
+                           @Param("quantidade") long quantidade, @Param("receita") BigDecimal receita);
+
+    // Consolidação (exclusiva) e reconstrução (compartilhada: blocos do backfill em paralelo) não se
+    // sobrepõem. Deve ser o primeiro comando da transação, para que os seguintes leiam após a trava.
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:chave)", nativeQuery = true)
+    Integer travar(@Param("chave") long chave);
+
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock_shared(:chave)", nativeQuery = true)
+    Integer travarCompartilhado(@Param("chave") long chave);
+
+    // Move até "lote" deltas para o rollup, somados por dia e tênis e gravados em ordem de chave.
+    // Retorna as linhas de vendas_diarias afetadas (0 quando não há pendências).
+    @Modifying
+    @Query(value = "WITH consumidos AS (" +
+            "  DELETE FROM vendas_pendentes WHERE id IN (SELECT id FROM vendas_pendentes ORDER BY id LIMIT :lote) " +
+            "  RETURNING dia, tenis_id, quantidade, receita) " +
+            "INSERT INTO vendas_diarias (dia, tenis_id, quantidade, receita, updated_at) " +
+            "SELECT dia, tenis_id, SUM(quantidade), SUM(receita), now() FROM consumidos " +
+            "GROUP BY dia, tenis_id ORDER BY dia, tenis_id " +
+            "ON CONFLICT (dia, tenis_id) DO UPDATE SET " +
+            "quantidade = vendas_diarias.quantidade + EXCLUDED.quantidade, " +
+            "receita = vendas_diarias.receita + EXCLUDED.receita, " +
+            "updated_at = now()",
+            nativeQuery = true)
+    int consolidar(@Param("lote") int lote);
+
+    // Reconstrução a partir dos itens (backfill); mesmo critério do incremental: pedidos não cancelados.
+    // Um único comando, portanto um único snapshot: os deltas pendentes descartados são exatamente os
+    // dos pedidos somados aqui; os de pedidos confirmados depois ficam para a consolidação. O upsert
+    // com valores absolutos dispensa apagar o período antes (sem janela em que o dia some do relatório).
+    @Modifying
+    @Query(value = "WITH descartados AS (" +
+            "  DELETE FROM vendas_pendentes WHERE dia >= CAST(:inicio AS date) AND dia < CAST(:fim AS date)), " +
+            "recalculado AS (" +
+            "  SELECT CAST(p.data_pedido AS date) AS dia, i.tenis_id, SUM(i.quantidade) AS quantidade, " +
+            "  SUM(i.preco_unitario * i.quantidade) AS receita " +
+            "  FROM itens_pedido i JOIN pedidos p ON p.id = i.pedido_id " +
+            "  WHERE p.deleted = false AND i.deleted = false AND p.status <> 'CANCELADO' " +
+            "  AND p.data_pedido >= :inicio AND p.data_pedido < :fim " +
+            "  GROUP BY CAST(p.data_pedido AS date), i.tenis_id), " +
+            "obsoletos AS (" +
+            "  DELETE FROM vendas_diarias v WHERE v.dia >= CAST(:inicio AS date) AND v.dia < CAST(:fim AS date) " +
+            "  AND NOT EXISTS (SELECT 1 FROM recalculado r WHERE r.dia = v.dia AND r.tenis_id = v.tenis_id)) " +
+            "INSERT INTO vendas_diarias (dia, tenis_id, quantidade, receita, updated_at) " +
+            "SELECT dia, tenis_id, quantidade, receita, now() FROM recalculado ORDER BY dia, tenis_id " +
+            "ON CONFLICT (dia, tenis_id) DO UPDATE SET " +
+            "quantidade = EXCLUDED.quantidade, receita = EXCLUDED.receita, updated_at = now()",
+            nativeQuery = true)
+    int rebuild(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    @Query("SELECT new com.lojatenis.dto.projection.TenisMaisVendidoProjection(" +
+            "t.id, t.nome, t.marca, t.modelo, SUM(v.quantidade), SUM(v.receita)) " +
+            "FROM VendaDiaria v JOIN v.tenis t " +
+            "WHERE v.id.dia >= :inicio AND v.id.dia <= :fim " +
+            "GROUP BY t.id, t.nome, t.marca, t.modelo " +
+            "ORDER BY SUM(v.quantidade) DESC, t.id")
+    List<TenisMaisVendidoProjection> findMaisVendidos(@Param("inicio") LocalDate inicio,
+                                                      @Param("fim") LocalDate fim, Pageable pageable);
+
+    @Query("SELECT new com.lojatenis.dto.projection.VendasPorDiaProjection(" +
+            "v.id.dia, SUM(v.quantidade), SUM(v.receita)) " +
+            "FROM VendaDiaria v WHERE v.id.dia >= :inicio AND v.id.dia <= :fim " +
+            "GROUP BY v.id.dia ORDER BY v.id.dia")
+    List<VendasPorDiaProjection> findPorDia(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+    @Query("SELECT new com.lojatenis.dto.projection.VendasPorGrupoProjection(" +
+            "t.marca, SUM(v.quantidade), SUM(v.receita)) " +
+            "FROM VendaDiaria v JOIN v.tenis t WHERE v.id.dia >= :inicio AND v.id.dia <= :fim " +
+            "GROUP BY t.marca ORDER BY SUM(v.receita) DESC")
+    List<VendasPorGrupoProjection> findPorMarca(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+    // Um tênis em várias categorias conta em cada uma delas
+    @Query("SELECT new com.lojatenis.dto.projection.VendasPorGrupoProjection(" +
+            "c.nome, SUM(v.quantidade), SUM(v.receita)) " +
+            "FROM VendaDiaria v JOIN v.tenis t JOIN t.categorias c " +
+            "WHERE v.id.dia >= :inicio AND v.id.dia <= :fim " +
+            "GROUP BY c.nome ORDER BY SUM(v.receita) DESC")
+    List<VendasPorGrupoProjection> findPorCategoria(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+}
@@ -4,8 +4,8 @@ import com.lojatenis.domain.Usuario;
 import com.lojatenis.repository.UsuarioRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -14,7 +14,7 @@ import java.util.Collections;
 
 @Service
 @Slf4j
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UsuarioRepository usuarioRepository;
 
@@ -29,11 +29,20 @@ public class CustomUserDetailsService implements UserDetailsService {
         Usuario usuario = usuarioRepository.findActiveByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + email));
 
-        return User.builder()
-                .username(usuario.getEmail())
-                .password(usuario.getSenha())
-                .authorities(Collections.singletonList(
-                        new SimpleGrantedAuthority("ROLE_" + usuario.getRole().name())))
-                .build();
+        return new UsuarioPrincipal(
+                usuario.getId(),
+                usuario.getEmail(),
+                usuario.getSenha(),
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + usuario.getRole().name())));
+    }
+
+    // Chamado pelo DaoAuthenticationProvider quando o hash armazenado usa um custo menor que o configurado
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        log.info("Atualizando custo do hash de senha para: {}", user.getUsername());
+        usuarioRepository.updateSenhaByEmail(user.getUsername(), newPassword);
+
+        UsuarioPrincipal principal = (UsuarioPrincipal) user;
+        return new UsuarioPrincipal(principal.getId(), principal.getUsername(), newPassword, principal.getAuthorities());
     }
 }
@@ -1,10 +1,12 @@
 package com.lojatenis.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,6 +16,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Date;
 
 @Component
 @Slf4j
@@ -21,10 +24,17 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
     private final UserDetailsService userDetailsService;
     private final JwtTokenUtil jwtTokenUtil;
+    private final PrincipalCache principalCache;
+    private final boolean trustTokenClaims;
 
-    public JwtRequestFilter(UserDetailsService userDetailsService, JwtTokenUtil jwtTokenUtil) {
+    public JwtRequestFilter(UserDetailsService userDetailsService,
+                            JwtTokenUtil jwtTokenUtil,
+                            PrincipalCache principalCache,
+                            @Value("${loja.security.principal-cache.trust-token-claims}") boolean trustTokenClaims) {
         this.userDetailsService = userDetailsService;
         this.jwtTokenUtil = jwtTokenUtil;
+        this.principalCache = principalCache;
+        this.trustTokenClaims = trustTokenClaims;
     }
 
     @Override
@@ -33,24 +43,27 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         final String requestTokenHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwtToken = null;
+        Claims claims = null;
 
-        // JWT Token está no formato "Bearer token"
+        // JWT Token está no formato "Bearer token"; assinatura verificada uma única vez por requisição
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
+            String jwtToken = requestTokenHeader.substring(7);
             try {
-                username = jwtTokenUtil.getUsernameFromToken(jwtToken);
+                claims = jwtTokenUtil.parseClaims(jwtToken);
             } catch (Exception e) {
                 log.error("Erro ao extrair username do token JWT: {}", e.getMessage());
             }
         }
 
         // Validar token
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        if (claims != null && claims.getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            final Claims tokenClaims = claims;
+            Date issuedAt = claims.getIssuedAt();
+            UserDetails userDetails = principalCache.get(
+                    claims.getSubject(), issuedAt != null ? issuedAt.getTime() : 0L, () -> loadPrincipal(tokenClaims));
 
-            if (jwtTokenUtil.validateToken(jwtToken, userDetails)) {
+            if (jwtTokenUtil.validateToken(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails, null, userDetails.getAuthorities());
@@ -61,4 +74,20 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    // Miss do cache: usa as claims do token quando configurado para confiar nelas, senão consulta o banco
+    private UserDetails loadPrincipal(Claims claims) {
+        if (trustTokenClaims) {
+            UserDetails principal = jwtTokenUtil.getPrincipalFromClaims(claims);
+            if (principal != null) {
+                return principal;
+            }
+        }
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        if (userDetails instanceof UsuarioPrincipal principal) {
+            principal.eraseCredentials();
+        }
+        return userDetails;
+    }
 }
@@ -1,30 +1,55 @@
 package com.lojatenis.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lojatenis.util.Constants;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
 @Component
 public class JwtTokenUtil {
 
-    @Value("${spring.security.jwt.secret}")
-    private String secret;
+    private final Long expiration;
 
-    @Value("${spring.security.jwt.expiration}")
-    private Long expiration;
+    // Chave e parser são imutáveis e thread-safe: construídos uma única vez
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    // LRU opcional de hash do token -> claims já verificadas (null quando desabilitado)
+    private final Cache<String, Claims> verifiedClaims;
+
+    public JwtTokenUtil(@Value("${spring.security.jwt.secret}") String secret,
+                        @Value("${spring.security.jwt.expiration}") Long expiration,
+                        @Value("${loja.security.jwt.claims-cache.size}") long claimsCacheSize,
+                        @Value("${loja.security.jwt.claims-cache.ttl}") Duration claimsCacheTtl) {
+        this.expiration = expiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedClaims = claimsCacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(claimsCacheSize).expireAfterWrite(claimsCacheTtl).build()
+                : null;
     }
 
     public String getUsernameFromToken(String token) {
@@ -35,42 +60,90 @@ public class JwtTokenUtil {
         return getClaimFromToken(token, Claims::getExpiration);
     }
 
+    public Date getIssuedAtDateFromToken(String token) {
+        return getClaimFromToken(token, Claims::getIssuedAt);
+    }
+
     public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = getAllClaimsFromToken(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
 
-    // MÉTODO ATUALIZADO PARA VERSÃO 0.12.5
-    private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    // Verifica a assinatura e devolve as claims; deve ser chamado uma única vez por requisição
+    public Claims parseClaims(String token) {
+        if (verifiedClaims == null) {
+            return verifyAndParse(token);
+        }
+
+        String tokenHash = hash(token);
+        Claims claims = verifiedClaims.getIfPresent(tokenHash);
+        if (claims == null) {
+            claims = verifyAndParse(token);
+            verifiedClaims.put(tokenHash, claims);
+        }
+        return claims;
+    }
+
+    private Claims verifyAndParse(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private boolean isTokenExpired(Claims claims) {
+        final Date expiration = claims.getExpiration();
         return expiration.before(new Date());
     }
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        // Role e ID embutidos no token permitem montar o principal sem consultar o banco
+        claims.put(Constants.JWT_CLAIM_ROLES, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+        if (userDetails instanceof UsuarioPrincipal principal) {
+            claims.put(Constants.JWT_CLAIM_USER_ID, principal.getId());
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
+    // Monta o principal a partir das claims; retorna null para tokens emitidos sem elas
+    public UserDetails getPrincipalFromClaims(Claims claims) {
+        List<?> roles = claims.get(Constants.JWT_CLAIM_ROLES, List.class);
+        Number userId = claims.get(Constants.JWT_CLAIM_USER_ID, Number.class);
+        if (roles == null || userId == null) {
+            return null;
+        }
+        return new UsuarioPrincipal(
+                userId.longValue(),
+                claims.getSubject(),
+                "",
+                roles.stream().map(role -> new SimpleGrantedAuthority(role.toString())).toList());
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .claims(claims)
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
+    public Boolean validateToken(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username.equals(userDetails.getUsername()) && !isTokenExpired(claims));
+    }
+
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(parseClaims(token), userDetails);
     }
 }
@@ -0,0 +1,96 @@
+package com.lojatenis.security;
+
+import com.lojatenis.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Verificação de senha (BCrypt, CPU-bound) isolada num pool próprio e limitado: um pico de logins
+// ocupa no máximo "threads" núcleos e a fila, sem segurar threads do Tomcat nem competir com o
+// catálogo e o checkout. Fila cheia, ou espera acima de max-queue-time, vira 429 com Retry-After.
+@Component
+@Slf4j
+public class LoginExecutor {
+
+    private final AuthenticationManager authenticationManager;
+    private final ThreadPoolExecutor executor;
+    private final long maxQueueTimeNanos;
+    private final Duration retryAfter;
+    private final Timer filaTimer;
+    private final Timer autenticacaoTimer;
+    private final Counter rejeitados;
+
+    public LoginExecutor(AuthenticationManager authenticationManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${loja.auth.login.threads}") int threads,
+                         @Value("${loja.auth.login.queue-capacity}") int queueCapacity,
+                         @Value("${loja.auth.login.max-queue-time}") Duration maxQueueTime,
+                         @Value("${loja.auth.login.retry-after}") Duration retryAfter) {
+        this.authenticationManager = authenticationManager;
+        this.maxQueueTimeNanos = maxQueueTime.toNanos();
+        this.retryAfter = retryAfter;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("login-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.filaTimer = Timer.builder("loja.auth.login.fila").register(meterRegistry);
+        this.autenticacaoTimer = Timer.builder("loja.auth.login.autenticacao").register(meterRegistry);
+        this.rejeitados = Counter.builder("loja.auth.login.rejeitados").register(meterRegistry);
+        Gauge.builder("loja.auth.login.fila.tamanho", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    public CompletableFuture<Authentication> autenticar(String email, String senha) {
+        long enfileiradoEm = System.nanoTime();
+        CompletableFuture<Authentication> resultado = new CompletableFuture<>();
+
+        try {
+            executor.execute(() -> {
+                long espera = System.nanoTime() - enfileiradoEm;
+                filaTimer.record(espera, TimeUnit.NANOSECONDS);
+
+                // O cliente provavelmente já desistiu: não gasta um hash com ele
+                if (espera > maxQueueTimeNanos) {
+                    resultado.completeExceptionally(rejeitar(email));
+                    return;
+                }
+
+                try {
+                    resultado.complete(autenticacaoTimer.recordCallable(() -> authenticationManager.authenticate(
+                            new UsernamePasswordAuthenticationToken(email, senha))));
+                } catch (Exception e) {
+                    resultado.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw rejeitar(email);
+        }
+        return resultado;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private TooManyRequestsException rejeitar(String email) {
+        rejeitados.increment();
+        log.warn("Login rejeitado por sobrecarga para email: {}", email);
+        return new TooManyRequestsException("Muitas tentativas de login simultâneas, tente novamente", retryAfter);
+    }
+}
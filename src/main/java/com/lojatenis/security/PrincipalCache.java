@@ -0,0 +1,43 @@
+package com.lojatenis.security;
+
+import com.lojatenis.config.CacheConfig;
+import com.lojatenis.event.UsuarioAlteradoEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.Supplier;
+
+// Cache de curta duração dos principais autenticados, por subject + instante de emissão do token
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> cache;
+
+    public PrincipalCache(CacheManager cacheManager) {
+        CaffeineCache caffeineCache = (CaffeineCache) cacheManager.getCache(CacheConfig.PRINCIPAIS);
+        this.cache = caffeineCache.getNativeCache();
+    }
+
+    public UserDetails get(String subject, long issuedAt, Supplier<UserDetails> loader) {
+        return (UserDetails) cache.get(new Chave(subject, issuedAt), chave -> loader.get());
+    }
+
+    public void evict(String subject) {
+        cache.asMap().keySet().removeIf(chave -> ((Chave) chave).subject().equals(subject));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUsuarioAlterado(UsuarioAlteradoEvent event) {
+        log.debug("Invalidando principal em cache: {}", event.getEmail());
+        evict(event.getEmail());
+    }
+
+    private record Chave(String subject, long issuedAt) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.lojatenis.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+// Principal autenticado com o ID do usuário (usado em expressões como authentication.principal.id)
+@Getter
+public class UsuarioPrincipal extends User {
+
+    private final Long id;
+
+    public UsuarioPrincipal(Long id, String email, String senha,
+                            Collection<? extends GrantedAuthority> authorities) {
+        super(email, senha, authorities);
+        this.id = id;
+    }
+}
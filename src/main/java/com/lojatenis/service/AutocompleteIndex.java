@@ -0,0 +1,304 @@
+package com.lojatenis.service;
+
+import com.lojatenis.dto.projection.TenisMaisVendidoProjection;
+import com.lojatenis.dto.response.SugestaoResponseDTO;
+import com.lojatenis.event.CatalogoAlteradoEvent;
+import com.lojatenis.repository.TenisRepository;
+import com.lojatenis.repository.VendaDiariaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Índice em memória para o autocomplete do catálogo: array ordenado de termos normalizados
+// (nome, marca e modelo, a partir de cada palavra), consultado por busca binária do prefixo.
+// Leitores usam o snapshot imutável corrente sem lock; alterações geram um novo snapshot
+// (copy-on-write) publicado numa referência volatile.
+@Component
+@Slf4j
+public class AutocompleteIndex {
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    private final TenisRepository tenisRepository;
+    private final VendaDiariaRepository vendaDiariaRepository;
+    private final int popularidadeDias;
+    private final int maxSugestoes;
+
+    private volatile Snapshot snapshot = Snapshot.VAZIO;
+
+    private final ReentrantLock escrita = new ReentrantLock();
+    private final AtomicLong leituras = new AtomicLong();
+    // Guardados sob "escrita": número da última leitura publicada, geral e por tênis atualizado
+    private long ultimaReconstrucao;
+    private final Map<Long, Long> atualizados = new HashMap<>();
+
+    private record Entrada(SugestaoResponseDTO sugestao, long peso) {
+    }
+
+    private record Termo(String texto, Entrada entrada) {
+    }
+
+    // termos[i] pertence a entradas[i]; popularidade é guardada para as atualizações incrementais
+    private record Snapshot(String[] termos, Entrada[] entradas, Map<Long, Long> popularidade) {
+        static final Snapshot VAZIO = new Snapshot(new String[0], new Entrada[0], Map.of());
+    }
+
+    public AutocompleteIndex(TenisRepository tenisRepository,
+                             VendaDiariaRepository vendaDiariaRepository,
+                             @Value("${loja.autocomplete.popularidade-dias}") int popularidadeDias,
+                             @Value("${loja.autocomplete.max-sugestoes}") int maxSugestoes) {
+        this.tenisRepository = tenisRepository;
+        this.vendaDiariaRepository = vendaDiariaRepository;
+        this.popularidadeDias = popularidadeDias;
+        this.maxSugestoes = maxSugestoes;
+    }
+
+    // Top-k por popularidade (unidades vendidas no período) entre os tênis com algum termo iniciado pelo prefixo
+    public List<SugestaoResponseDTO> sugerir(String prefixo, int limite) {
+        String chave = normalizar(prefixo);
+        int k = Math.min(Math.max(limite, 1), maxSugestoes);
+        if (chave.isEmpty()) {
+            return List.of();
+        }
+
+        Snapshot atual = snapshot;
+        String[] termos = atual.termos();
+        int inicio = Arrays.binarySearch(termos, chave);
+        if (inicio < 0) {
+            inicio = -inicio - 1;
+        }
+
+        // Um tênis pode casar por vários termos; como o peso é o mesmo, basta checar se já está no top-k
+        Entrada[] top = new Entrada[k];
+        int tamanho = 0;
+        for (int i = inicio; i < termos.length && termos[i].startsWith(chave); i++) {
+            Entrada entrada = atual.entradas()[i];
+            if (tamanho == k && !precede(entrada, top[k - 1])) {
+                continue;
+            }
+            if (contem(top, tamanho, entrada)) {
+                continue;
+            }
+
+            int pos = tamanho < k ? tamanho++ : k - 1;
+            while (pos > 0 && precede(entrada, top[pos - 1])) {
+                top[pos] = top[pos - 1];
+                pos--;
+            }
+            top[pos] = entrada;
+        }
+
+        List<SugestaoResponseDTO> sugestoes = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            sugestoes.add(top[i].sugestao());
+        }
+        return sugestoes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        reconstruir();
+    }
+
+    // Reconstrução periódica: a popularidade não é atualizada no índice a cada pedido
+    @Scheduled(fixedDelayString = "${loja.autocomplete.refresh-interval}",
+            initialDelayString = "${loja.autocomplete.refresh-interval}")
+    public void atualizarPopularidade() {
+        reconstruir();
+    }
+
+    // Só nome/marca/modelo entram no índice; alterações de categoria não o afetam.
+    // Assíncrono: a requisição que alterou o catálogo não espera a consulta nem uma reconstrução em curso
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogoAlterado(CatalogoAlteradoEvent event) {
+        if (event.getTipo() != CatalogoAlteradoEvent.Tipo.TENIS) {
+            return;
+        }
+
+        try {
+            if (event.getId() == null) {
+                reconstruir();
+            } else {
+                atualizar(event.getId());
+            }
+        } catch (RuntimeException e) {
+            // O snapshot anterior continua valendo até a próxima reconstrução agendada
+            log.error("Erro ao atualizar o índice de autocomplete: {}", e.getMessage(), e);
+        }
+    }
+
+    // Consultas ao banco fora do lock; só a publicação do snapshot é serializada. Cada leitura recebe
+    // um número antes da consulta: uma leitura de número maior começou depois e já enxerga tudo o que
+    // a menor enxergava, então dados de uma leitura mais antiga nunca sobrescrevem os de uma mais nova.
+    private void reconstruir() {
+        long inicio = System.nanoTime();
+        long leitura = leituras.incrementAndGet();
+        Map<Long, Long> popularidade = carregarPopularidade();
+
+        List<Termo> indexados = new ArrayList<>();
+        for (SugestaoResponseDTO sugestao : tenisRepository.findAllSugestoes()) {
+            Entrada entrada = new Entrada(sugestao, popularidade.getOrDefault(sugestao.getId(), 0L));
+            termosDe(sugestao).forEach(termo -> indexados.add(new Termo(termo, entrada)));
+        }
+        indexados.sort(Comparator.comparing(Termo::texto));
+
+        String[] termos = new String[indexados.size()];
+        Entrada[] entradas = new Entrada[indexados.size()];
+        for (int i = 0; i < indexados.size(); i++) {
+            termos[i] = indexados.get(i).texto();
+            entradas[i] = indexados.get(i).entrada();
+        }
+        Snapshot novo = new Snapshot(termos, entradas, popularidade);
+
+        escrita.lock();
+        try {
+            if (leitura < ultimaReconstrucao) {
+                return;
+            }
+            // Atualizações incrementais lidas depois desta reconstrução são reaplicadas sobre ela
+            Snapshot atual = snapshot;
+            for (Map.Entry<Long, Long> atualizado : atualizados.entrySet()) {
+                if (atualizado.getValue() > leitura) {
+                    novo = mesclar(novo, atualizado.getKey(), sugestaoDe(atual, atualizado.getKey()));
+                }
+            }
+            atualizados.values().removeIf(l -> l < leitura);
+            ultimaReconstrucao = leitura;
+            snapshot = novo;
+        } finally {
+            escrita.unlock();
+        }
+        log.info("Índice de autocomplete reconstruído - Termos: {}, Tempo: {} ms",
+                novo.termos().length, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private void atualizar(Long tenisId) {
+        long leitura = leituras.incrementAndGet();
+        Optional<SugestaoResponseDTO> sugestao = tenisRepository.findSugestaoById(tenisId);
+
+        escrita.lock();
+        try {
+            Long aplicada = atualizados.get(tenisId);
+            if (leitura < ultimaReconstrucao || (aplicada != null && leitura < aplicada)) {
+                return;
+            }
+            snapshot = mesclar(snapshot, tenisId, sugestao);
+            atualizados.put(tenisId, leitura);
+        } finally {
+            escrita.unlock();
+        }
+        log.debug("Índice de autocomplete atualizado - Tênis ID: {}", tenisId);
+    }
+
+    // Remove os termos do tênis e intercala os novos (merge de dois arrays ordenados, O(n))
+    private static Snapshot mesclar(Snapshot atual, Long tenisId, Optional<SugestaoResponseDTO> sugestao) {
+        List<String> novos = sugestao.map(s -> termosDe(s).stream().sorted().toList()).orElse(List.of());
+        Entrada nova = sugestao
+                .map(s -> new Entrada(s, atual.popularidade().getOrDefault(tenisId, 0L)))
+                .orElse(null);
+
+        String[] termos = new String[atual.termos().length + novos.size()];
+        Entrada[] entradas = new Entrada[termos.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < atual.termos().length || j < novos.size()) {
+            if (i < atual.termos().length && tenisId.equals(atual.entradas()[i].sugestao().getId())) {
+                i++;
+            } else if (j == novos.size()
+                    || (i < atual.termos().length && atual.termos()[i].compareTo(novos.get(j)) <= 0)) {
+                termos[n] = atual.termos()[i];
+                entradas[n++] = atual.entradas()[i++];
+            } else {
+                termos[n] = novos.get(j++);
+                entradas[n++] = nova;
+            }
+        }
+        return new Snapshot(Arrays.copyOf(termos, n), Arrays.copyOf(entradas, n), atual.popularidade());
+    }
+
+    // Versão do tênis já publicada no snapshot (vazia se ele foi removido)
+    private static Optional<SugestaoResponseDTO> sugestaoDe(Snapshot snapshot, Long tenisId) {
+        for (Entrada entrada : snapshot.entradas()) {
+            if (tenisId.equals(entrada.sugestao().getId())) {
+                return Optional.of(entrada.sugestao());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Map<Long, Long> carregarPopularidade() {
+        LocalDate hoje = LocalDate.now();
+        return vendaDiariaRepository.findMaisVendidos(hoje.minusDays(popularidadeDias), hoje, Pageable.unpaged())
+                .stream()
+                .collect(Collectors.toMap(TenisMaisVendidoProjection::getTenisId,
+                        TenisMaisVendidoProjection::getQuantidade));
+    }
+
+    // Cada sufixo de palavras de nome, marca e modelo: "Air Max 90" gera "air max 90", "max 90" e "90"
+    private static Set<String> termosDe(SugestaoResponseDTO sugestao) {
+        Set<String> termos = new LinkedHashSet<>();
+        for (String campo : new String[]{sugestao.getNome(), sugestao.getMarca(), sugestao.getModelo()}) {
+            String normalizado = normalizar(campo);
+            if (normalizado.isEmpty()) {
+                continue;
+            }
+            termos.add(normalizado);
+            for (int i = normalizado.indexOf(' '); i >= 0; i = normalizado.indexOf(' ', i + 1)) {
+                termos.add(normalizado.substring(i + 1));
+            }
+        }
+        return termos;
+    }
+
+    // Sem acentos, minúsculo e com qualquer pontuação reduzida a um espaço
+    private static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = DIACRITICOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    private static boolean precede(Entrada a, Entrada b) {
+        if (a.peso() != b.peso()) {
+            return a.peso() > b.peso();
+        }
+        return a.sugestao().getId() < b.sugestao().getId();
+    }
+
+    private static boolean contem(Entrada[] top, int tamanho, Entrada entrada) {
+        for (int i = 0; i < tamanho; i++) {
+            if (top[i] == entrada) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
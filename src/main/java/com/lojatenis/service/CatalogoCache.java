@@ -0,0 +1,179 @@
+package com.lojatenis.service;
+
+import com.lojatenis.config.CacheConfig;
+import com.lojatenis.dto.response.CategoriaResponseDTO;
+import com.lojatenis.dto.response.TenisResponseDTO;
+import com.lojatenis.event.CatalogoAlteradoEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// Cache dos DTOs do catálogo. Os DTOs são RepresentationModel mutáveis (os controllers adicionam links),
+// por isso o cache guarda uma cópia própria e sempre devolve cópias.
+@Component
+@Slf4j
+public class CatalogoCache {
+
+    private final Cache tenis;
+    private final Cache tenisListagem;
+    private final Cache categorias;
+    private final Cache categoriasListagem;
+
+    // Geração do catálogo, avançada após cada invalidação; base dos ETags das listagens
+    private volatile Versao versao = Versao.inicial();
+
+    // Invalidação + avanço da versão e put condicional são atômicos entre si (ReentrantLock: não fixa virtual threads)
+    private final ReentrantLock invalidacao = new ReentrantLock();
+
+    // "instancia" (instante da inicialização) evita reaproveitar ETags de outra execução do contador.
+    // categorias conta só as alterações de categoria (dados embutidos nos tênis e na listagem de categorias).
+    public record Versao(String instancia, long numero, long categorias,
+                         Instant alteradoEm, Instant categoriasAlteradasEm) {
+
+        static Versao inicial() {
+            Instant agora = Instant.now();
+            return new Versao(Long.toString(agora.toEpochMilli(), 36), 0, 0, agora, agora);
+        }
+    }
+
+    public CatalogoCache(CacheManager cacheManager) {
+        this.tenis = cacheManager.getCache(CacheConfig.TENIS);
+        this.tenisListagem = cacheManager.getCache(CacheConfig.TENIS_LISTAGEM);
+        this.categorias = cacheManager.getCache(CacheConfig.CATEGORIAS);
+        this.categoriasListagem = cacheManager.getCache(CacheConfig.CATEGORIAS_LISTAGEM);
+    }
+
+    public Versao getVersao() {
+        return versao;
+    }
+
+    public TenisResponseDTO getTenis(Long id, Supplier<TenisResponseDTO> loader) {
+        return copyTenis(getOrLoad(tenis, id, loader));
+    }
+
+    public Page<TenisResponseDTO> getTenisPage(String key, Supplier<Page<TenisResponseDTO>> loader) {
+        return getOrLoad(tenisListagem, key, loader).map(this::copyTenis);
+    }
+
+    public Slice<TenisResponseDTO> getTenisSlice(String key, Supplier<Slice<TenisResponseDTO>> loader) {
+        return getOrLoad(tenisListagem, key, loader).map(this::copyTenis);
+    }
+
+    public CategoriaResponseDTO getCategoria(Long id, Supplier<CategoriaResponseDTO> loader) {
+        return copyCategoria(getOrLoad(categorias, id, loader));
+    }
+
+    public Page<CategoriaResponseDTO> getCategoriaPage(String key, Supplier<Page<CategoriaResponseDTO>> loader) {
+        return getOrLoad(categoriasListagem, key, loader).map(this::copyCategoria);
+    }
+
+    // Invalidação só após o commit, para não repopular o cache com dados ainda não confirmados.
+    // Sob a mesma trava de putSeVersaoAtual: invalidação e avanço da versão são vistos juntos pelos leitores.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogoAlterado(CatalogoAlteradoEvent event) {
+        log.debug("Invalidando cache do catálogo: {}", event);
+
+        invalidacao.lock();
+        try {
+            switch (event.getTipo()) {
+                case TENIS -> {
+                    evict(tenis, event.getId());
+                    tenisListagem.clear();
+                }
+                case CATEGORIA -> {
+                    evict(categorias, event.getId());
+                    categoriasListagem.clear();
+                    // Tênis embutem os dados das suas categorias
+                    tenis.clear();
+                    tenisListagem.clear();
+                }
+            }
+            avancarVersao(event.getTipo());
+        } finally {
+            invalidacao.unlock();
+        }
+    }
+
+    // Só depois da invalidação: uma versão nova nunca é associada a dados antigos do cache
+    private void avancarVersao(CatalogoAlteradoEvent.Tipo tipo) {
+        Versao atual = versao;
+        Instant agora = Instant.now();
+        boolean categoria = tipo == CatalogoAlteradoEvent.Tipo.CATEGORIA;
+        versao = new Versao(atual.instancia(), atual.numero() + 1,
+                categoria ? atual.categorias() + 1 : atual.categorias(),
+                agora, categoria ? agora : atual.categoriasAlteradasEm());
+    }
+
+    // A versão é lida antes da consulta: se uma alteração foi invalidada durante a carga, o valor
+    // pode ser anterior ao commit dela e não entra no cache (é devolvido só a este leitor)
+    @SuppressWarnings("unchecked")
+    private <T> T getOrLoad(Cache cache, Object key, Supplier<T> loader) {
+        Cache.ValueWrapper cached = cache.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        Versao lida = versao;
+        T value = loader.get();
+        putSeVersaoAtual(cache, key, value, lida);
+        return value;
+    }
+
+    private void putSeVersaoAtual(Cache cache, Object key, Object value, Versao lida) {
+        invalidacao.lock();
+        try {
+            if (versao == lida) {
+                cache.put(key, value);
+            } else {
+                log.debug("Catálogo alterado durante a carga de {} - valor não armazenado", key);
+            }
+        } finally {
+            invalidacao.unlock();
+        }
+    }
+
+    private void evict(Cache cache, Long id) {
+        if (id != null) {
+            cache.evict(id);
+        } else {
+            cache.clear();
+        }
+    }
+
+    private TenisResponseDTO copyTenis(TenisResponseDTO tenis) {
+        return new TenisResponseDTO(
+                tenis.getId(),
+                tenis.getNome(),
+                tenis.getMarca(),
+                tenis.getModelo(),
+                tenis.getPreco(),
+                tenis.getDescricao(),
+                tenis.getCor(),
+                tenis.getMaterial(),
+                tenis.getCategorias() == null ? null : tenis.getCategorias().stream()
+                        .map(this::copyCategoria)
+                        .collect(Collectors.toSet()),
+                tenis.getCreatedAt(),
+                tenis.getUpdatedAt()
+        );
+    }
+
+    private CategoriaResponseDTO copyCategoria(CategoriaResponseDTO categoria) {
+        return new CategoriaResponseDTO(
+                categoria.getId(),
+                categoria.getNome(),
+                categoria.getDescricao(),
+                categoria.getCreatedAt(),
+                categoria.getUpdatedAt()
+        );
+    }
+}
@@ -3,13 +3,17 @@ package com.lojatenis.service;
 import com.lojatenis.domain.Categoria;
 import com.lojatenis.dto.request.CategoriaCreateRequestDTO;
 import com.lojatenis.dto.response.CategoriaResponseDTO;
+import com.lojatenis.event.CatalogoAlteradoEvent;
 import com.lojatenis.exception.BusinessException;
 import com.lojatenis.exception.ResourceNotFoundException;
 import com.lojatenis.repository.CategoriaRepository;
+import com.lojatenis.util.CacheKeyUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -18,26 +22,43 @@ import org.springframework.transaction.annotation.Transactional;
 public class CategoriaService {
 
     private final CategoriaRepository categoriaRepository;
+    private final CatalogoCache catalogoCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CategoriaService(CategoriaRepository categoriaRepository) {
+    public CategoriaService(CategoriaRepository categoriaRepository,
+                            CatalogoCache catalogoCache,
+                            ApplicationEventPublisher eventPublisher) {
         this.categoriaRepository = categoriaRepository;
+        this.catalogoCache = catalogoCache;
+        this.eventPublisher = eventPublisher;
     }
 
+    // Versão corrente do catálogo (validadores HTTP); não consulta o banco
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CatalogoCache.Versao getVersaoCatalogo() {
+        return catalogoCache.getVersao();
+    }
+
+    @Transactional(readOnly = true)
     public Page<CategoriaResponseDTO> findAll(Pageable pageable) {
         log.info("Buscando todas as categorias ativas - Página: {}, Tamanho: {}",
                 pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Categoria> categoriaPage = categoriaRepository.findAllActive(pageable);
-        return categoriaPage.map(this::toResponseDTO);
+        return catalogoCache.getCategoriaPage(CacheKeyUtils.page(pageable), () -> {
+            Page<Categoria> categoriaPage = categoriaRepository.findAllActive(pageable);
+            return categoriaPage.map(this::toResponseDTO);
+        });
     }
 
+    @Transactional(readOnly = true)
     public CategoriaResponseDTO findById(Long id) {
         log.info("Buscando categoria por ID: {}", id);
 
-        Categoria categoria = categoriaRepository.findActiveById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Categoria não encontrada com ID: " + id));
-
-        return toResponseDTO(categoria);
+        return catalogoCache.getCategoria(id, () -> {
+            Categoria categoria = categoriaRepository.findActiveById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Categoria não encontrada com ID: " + id));
+            return toResponseDTO(categoria);
+        });
     }
 
     public CategoriaResponseDTO create(CategoriaCreateRequestDTO requestDTO) {
@@ -55,6 +76,8 @@ public class CategoriaService {
         Categoria savedCategoria = categoriaRepository.save(categoria);
         log.info("Categoria criada com sucesso - ID: {}", savedCategoria.getId());
 
+        eventPublisher.publishEvent(new CatalogoAlteradoEvent(CatalogoAlteradoEvent.Tipo.CATEGORIA, savedCategoria.getId()));
+
         return toResponseDTO(savedCategoria);
     }
 
@@ -70,6 +93,8 @@ public class CategoriaService {
         Categoria updatedCategoria = categoriaRepository.save(categoria);
         log.info("Categoria atualizada com sucesso - ID: {}", updatedCategoria.getId());
 
+        eventPublisher.publishEvent(new CatalogoAlteradoEvent(CatalogoAlteradoEvent.Tipo.CATEGORIA, id));
+
         return toResponseDTO(updatedCategoria);
     }
 
@@ -82,6 +107,8 @@ public class CategoriaService {
 
         categoriaRepository.softDelete(id);
         log.info("Soft delete realizado com sucesso para categoria ID: {}", id);
+
+        eventPublisher.publishEvent(new CatalogoAlteradoEvent(CatalogoAlteradoEvent.Tipo.CATEGORIA, id));
     }
 
     private CategoriaResponseDTO toResponseDTO(Categoria categoria) {
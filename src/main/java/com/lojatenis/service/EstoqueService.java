@@ -0,0 +1,114 @@
+package com.lojatenis.service;
+
+import com.lojatenis.domain.Estoque;
+import com.lojatenis.domain.ItemPedido;
+import com.lojatenis.dto.request.EstoqueRequestDTO;
+import com.lojatenis.dto.response.EstoqueResponseDTO;
+import com.lojatenis.exception.BusinessException;
+import com.lojatenis.exception.ResourceNotFoundException;
+import com.lojatenis.repository.EstoqueRepository;
+import com.lojatenis.repository.TenisRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@Transactional
+@Slf4j
+public class EstoqueService {
+
+    // Ordem fixa de reserva: transações concorrentes travam as linhas sempre na mesma sequência
+    private static final Comparator<Sku> ORDEM_RESERVA = Comparator
+            .comparing(Sku::tenisId)
+            .thenComparing(Sku::tamanho);
+
+    private final EstoqueRepository estoqueRepository;
+    private final TenisRepository tenisRepository;
+
+    public EstoqueService(EstoqueRepository estoqueRepository, TenisRepository tenisRepository) {
+        this.estoqueRepository = estoqueRepository;
+        this.tenisRepository = tenisRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public List<EstoqueResponseDTO> findByTenisId(Long tenisId) {
+        log.info("Buscando estoque do tênis ID: {}", tenisId);
+
+        if (!tenisRepository.existsActiveById(tenisId)) {
+            throw new ResourceNotFoundException("Tênis não encontrado com ID: " + tenisId);
+        }
+
+        return estoqueRepository.findActiveByTenisId(tenisId).stream()
+                .map(this::toResponseDTO)
+                .toList();
+    }
+
+    public EstoqueResponseDTO definir(Long tenisId, EstoqueRequestDTO requestDTO) {
+        log.info("Definindo estoque do tênis ID: {} tamanho {} para {}",
+                tenisId, requestDTO.getTamanho(), requestDTO.getQuantidade());
+
+        if (!tenisRepository.existsActiveById(tenisId)) {
+            throw new ResourceNotFoundException("Tênis não encontrado com ID: " + tenisId);
+        }
+
+        estoqueRepository.definirQuantidade(tenisId, requestDTO.getTamanho(), requestDTO.getQuantidade());
+
+        EstoqueResponseDTO dto = new EstoqueResponseDTO();
+        dto.setTenisId(tenisId);
+        dto.setTamanho(requestDTO.getTamanho());
+        dto.setQuantidade(requestDTO.getQuantidade());
+        return dto;
+    }
+
+    // Reserva os itens na transação do pedido; qualquer falta desfaz as baixas anteriores via rollback
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reservar(Collection<ItemPedido> itens) {
+        for (Map.Entry<Sku, Integer> entry : agrupar(itens).entrySet()) {
+            Sku sku = entry.getKey();
+            int reservados = estoqueRepository.reservar(sku.tenisId(), sku.tamanho(), entry.getValue());
+            if (reservados == 0) {
+                throw new BusinessException("Estoque insuficiente para o tênis ID: " + sku.tenisId()
+                        + " no tamanho " + sku.tamanho());
+            }
+        }
+        log.debug("Estoque reservado para {} itens", itens.size());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void liberar(Collection<ItemPedido> itens) {
+        for (Map.Entry<Sku, Integer> entry : agrupar(itens).entrySet()) {
+            Sku sku = entry.getKey();
+            estoqueRepository.liberar(sku.tenisId(), sku.tamanho(), entry.getValue());
+        }
+        log.debug("Estoque liberado para {} itens", itens.size());
+    }
+
+    // Soma itens repetidos do mesmo tênis/tamanho: uma única baixa por linha de estoque
+    private Map<Sku, Integer> agrupar(Collection<ItemPedido> itens) {
+        Map<Sku, Integer> quantidades = new TreeMap<>(ORDEM_RESERVA);
+        for (ItemPedido item : itens) {
+            quantidades.merge(new Sku(item.getTenis().getId(), item.getTamanho()),
+                    item.getQuantidade(), Integer::sum);
+        }
+        return quantidades;
+    }
+
+    private EstoqueResponseDTO toResponseDTO(Estoque estoque) {
+        EstoqueResponseDTO dto = new EstoqueResponseDTO();
+        dto.setTenisId(estoque.getTenis().getId());
+        dto.setTamanho(estoque.getTamanho());
+        dto.setQuantidade(estoque.getQuantidade());
+        dto.setUpdatedAt(estoque.getUpdatedAt());
+        return dto;
+    }
+
+    private record Sku(Long tenisId, Integer tamanho) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.lojatenis.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojatenis.domain.ChaveIdempotencia;
+import com.lojatenis.dto.request.PedidoCreateRequestDTO;
+import com.lojatenis.dto.response.PedidoResponseDTO;
+import com.lojatenis.exception.BusinessException;
+import com.lojatenis.repository.ChaveIdempotenciaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+@Service
+@Transactional
+@Slf4j
+public class IdempotenciaService {
+
+    private final ChaveIdempotenciaRepository chaveRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final int purgeBatchSize;
+
+    public IdempotenciaService(ChaveIdempotenciaRepository chaveRepository,
+                               ObjectMapper objectMapper,
+                               @Value("${loja.idempotencia.ttl}") Duration ttl,
+                               @Value("${loja.idempotencia.purge-batch-size}") int purgeBatchSize) {
+        this.chaveRepository = chaveRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    // Registra a chave na transação do pedido. Retorna a resposta já gravada quando a chave foi
+    // usada por uma requisição anterior (inclusive uma concorrente que acabou de fazer commit).
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<PedidoResponseDTO> iniciar(String chave, PedidoCreateRequestDTO requestDTO) {
+        String requestHash = hash(requestDTO);
+        LocalDateTime agora = LocalDateTime.now();
+
+        if (chaveRepository.tryInsert(chave, requestHash, agora, agora.plus(ttl)) == 1) {
+            return Optional.empty();
+        }
+
+        ChaveIdempotencia existente = chaveRepository.findById(chave)
+                .orElseThrow(() -> new BusinessException("Idempotency-Key em processamento, tente novamente"));
+
+        if (!existente.getRequestHash().equals(requestHash)) {
+            throw new BusinessException("Idempotency-Key já utilizada com outro corpo de requisição");
+        }
+        if (existente.getResposta() == null) {
+            throw new BusinessException("Idempotency-Key em processamento, tente novamente");
+        }
+
+        log.info("Requisição repetida com Idempotency-Key - devolvendo pedido ID: {}", existente.getPedidoId());
+        return Optional.of(lerResposta(existente.getResposta()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void concluir(String chave, PedidoResponseDTO resposta) {
+        try {
+            chaveRepository.registrarResposta(chave, resposta.getId(), objectMapper.writeValueAsString(resposta));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar resposta do pedido " + resposta.getId(), e);
+        }
+    }
+
+    // Cada lote roda na própria transação do repositório
+    @Scheduled(fixedDelayString = "${loja.idempotencia.purge-interval}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void purgeExpired() {
+        LocalDateTime agora = LocalDateTime.now();
+        int total = 0;
+        int removidas;
+        do {
+            removidas = chaveRepository.deleteExpired(agora, purgeBatchSize);
+            total += removidas;
+        } while (removidas == purgeBatchSize);
+
+        if (total > 0) {
+            log.info("Chaves de idempotência expiradas removidas: {}", total);
+        }
+    }
+
+    private PedidoResponseDTO lerResposta(String resposta) {
+        try {
+            // O snapshot é gravado antes dos links HATEOAS; "links" vazio é ignorado na leitura
+            return objectMapper.readerFor(PedidoResponseDTO.class)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(resposta);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Snapshot de resposta inválido para Idempotency-Key", e);
+        }
+    }
+
+    private String hash(PedidoCreateRequestDTO requestDTO) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(requestDTO)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Falha ao calcular hash da requisição", e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.lojatenis.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojatenis.domain.ItemPedido;
+import com.lojatenis.domain.Pedido;
+import com.lojatenis.domain.enums.StatusPedido;
+import com.lojatenis.repository.ItemPedidoRepository;
+import com.lojatenis.util.CsvUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Exportação de pedidos para conciliação: lê os itens por cursor (fetch size) em uma transação
+// somente leitura e escreve direto na saída, limpando o contexto de persistência a cada bloco
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class PedidoExportService {
+
+    public enum Formato { NDJSON, CSV }
+
+    private static final int CLEAR_INTERVAL = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CABECALHO_CSV = "pedido_id,data_pedido,status,valor_total,usuario_id,usuario_email," +
+            "item_id,tenis_id,tenis_nome,marca,modelo,tamanho,quantidade,preco_unitario,subtotal";
+
+    private final ItemPedidoRepository itemPedidoRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public PedidoExportService(ItemPedidoRepository itemPedidoRepository, ObjectMapper objectMapper) {
+        this.itemPedidoRepository = itemPedidoRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // Retorna o número de pedidos exportados
+    public long exportar(LocalDateTime inicio, LocalDateTime fim, StatusPedido status,
+                         Formato formato, OutputStream outputStream) throws IOException {
+        log.info("Exportando pedidos - Período: {} a {}, Status: {}, Formato: {}", inicio, fim, status, formato);
+
+        Collection<StatusPedido> statusFiltro = status != null ? EnumSet.of(status) : EnumSet.allOf(StatusPedido.class);
+
+        long pedidos;
+        try (Stream<ItemPedido> itens = itemPedidoRepository.streamForExport(inicio, fim, statusFiltro)) {
+            pedidos = formato == Formato.CSV
+                    ? escreverCsv(itens.iterator(), outputStream)
+                    : escreverNdjson(itens.iterator(), outputStream);
+        }
+
+        log.info("Exportação concluída - Pedidos: {}", pedidos);
+        return pedidos;
+    }
+
+    // Uma linha JSON por pedido com seus itens; os itens chegam ordenados por pedido
+    private long escreverNdjson(Iterator<ItemPedido> itens, OutputStream outputStream) throws IOException {
+        long pedidos = 0;
+        long linhas = 0;
+        Long pedidoAtual = null;
+
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(outputStream)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            while (itens.hasNext()) {
+                ItemPedido item = itens.next();
+                Pedido pedido = item.getPedido();
+
+                if (!pedido.getId().equals(pedidoAtual)) {
+                    if (pedidoAtual != null) {
+                        fecharPedido(json);
+                    }
+                    abrirPedido(json, pedido);
+                    pedidoAtual = pedido.getId();
+                    pedidos++;
+                }
+                escreverItem(json, item);
+
+                if (++linhas % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+
+            if (pedidoAtual != null) {
+                fecharPedido(json);
+            }
+        }
+        return pedidos;
+    }
+
+    private void abrirPedido(JsonGenerator json, Pedido pedido) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", pedido.getId());
+        json.writeStringField("dataPedido", pedido.getDataPedido().toString());
+        json.writeStringField("status", pedido.getStatus().name());
+        json.writeNumberField("valorTotal", pedido.getValorTotal());
+        json.writeNumberField("usuarioId", pedido.getUsuario().getId());
+        json.writeStringField("usuarioEmail", pedido.getUsuario().getEmail());
+        json.writeArrayFieldStart("itens");
+    }
+
+    private void escreverItem(JsonGenerator json, ItemPedido item) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", item.getId());
+        json.writeNumberField("tenisId", item.getTenis().getId());
+        json.writeStringField("tenisNome", item.getTenis().getNome());
+        json.writeStringField("marca", item.getTenis().getMarca());
+        json.writeStringField("modelo", item.getTenis().getModelo());
+        json.writeNumberField("tamanho", item.getTamanho());
+        json.writeNumberField("quantidade", item.getQuantidade());
+        json.writeNumberField("precoUnitario", item.getPrecoUnitario());
+        json.writeNumberField("subtotal", subtotal(item));
+        json.writeEndObject();
+    }
+
+    private void fecharPedido(JsonGenerator json) throws IOException {
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    // Uma linha por item, com os dados do pedido repetidos
+    private long escreverCsv(Iterator<ItemPedido> itens, OutputStream outputStream) throws IOException {
+        long pedidos = 0;
+        long linhas = 0;
+        Long pedidoAtual = null;
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CABECALHO_CSV);
+        writer.write('\n');
+
+        while (itens.hasNext()) {
+            ItemPedido item = itens.next();
+            Pedido pedido = item.getPedido();
+            if (!pedido.getId().equals(pedidoAtual)) {
+                pedidoAtual = pedido.getId();
+                pedidos++;
+            }
+
+            writer.write(String.join(",",
+                    String.valueOf(pedido.getId()),
+                    pedido.getDataPedido().toString(),
+                    pedido.getStatus().name(),
+                    pedido.getValorTotal().toPlainString(),
+                    String.valueOf(pedido.getUsuario().getId()),
+                    CsvUtils.escape(pedido.getUsuario().getEmail()),
+                    String.valueOf(item.getId()),
+                    String.valueOf(item.getTenis().getId()),
+                    CsvUtils.escape(item.getTenis().getNome()),
+                    CsvUtils.escape(item.getTenis().getMarca()),
+                    CsvUtils.escape(item.getTenis().getModelo()),
+                    String.valueOf(item.getTamanho()),
+                    String.valueOf(item.getQuantidade()),
+                    item.getPrecoUnitario().toPlainString(),
+                    subtotal(item).toPlainString()));
+            writer.write('\n');
+
+            if (++linhas % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+            }
+        }
+
+        writer.flush();
+        return pedidos;
+    }
+
+    private BigDecimal subtotal(ItemPedido item) {
+        return item.getPrecoUnitario().multiply(BigDecimal.valueOf(item.getQuantidade()));
+    }
+}
@@ -16,16 +16,25 @@ import com.lojatenis.exception.ResourceNotFoundException;
 import com.lojatenis.repository.PedidoRepository;
 import com.lojatenis.repository.TenisRepository;
 import com.lojatenis.repository.UsuarioRepository;
+import com.lojatenis.util.Constants;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -35,27 +44,57 @@ public class PedidoService {
     private final PedidoRepository pedidoRepository;
     private final UsuarioRepository usuarioRepository;
     private final TenisRepository tenisRepository;
+    private final EstoqueService estoqueService;
+    private final IdempotenciaService idempotenciaService;
+    private final VendasService vendasService;
 
     public PedidoService(PedidoRepository pedidoRepository,
                          UsuarioRepository usuarioRepository,
-                         TenisRepository tenisRepository) {
+                         TenisRepository tenisRepository,
+                         EstoqueService estoqueService,
+                         IdempotenciaService idempotenciaService,
+                         VendasService vendasService) {
         this.pedidoRepository = pedidoRepository;
         this.usuarioRepository = usuarioRepository;
         this.tenisRepository = tenisRepository;
+        this.estoqueService = estoqueService;
+        this.idempotenciaService = idempotenciaService;
+        this.vendasService = vendasService;
     }
 
     public Page<PedidoResponseDTO> findAll(Pageable pageable) {
         log.info("Buscando todos os pedidos ativos - Página: {}, Tamanho: {}",
                 pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Pedido> pedidoPage = pedidoRepository.findAllActive(pageable);
-        return pedidoPage.map(this::toResponseDTO);
+        Page<Long> ids = pedidoRepository.findActiveIds(pageable);
+        return ids.map(hydrator(ids.getContent()));
+    }
+
+    // Listagem por cursor em (dataPedido, id) decrescentes; dataPedido/id nulos indicam a primeira página
+    @Transactional(readOnly = true)
+    public Slice<PedidoResponseDTO> findAllByKeyset(StatusPedido status, LocalDateTime dataPedido,
+                                                    Long id, int size) {
+        log.info("Buscando pedidos por cursor - Status: {}, Após: {}/{}, Tamanho: {}",
+                status, dataPedido, id, size);
+
+        Pageable limite = PageRequest.of(0, size);
+        Slice<Long> ids;
+        if (status != null) {
+            ids = dataPedido == null
+                    ? pedidoRepository.findActiveIdsByStatusFirst(status, limite)
+                    : pedidoRepository.findActiveIdsByStatusBefore(status, dataPedido, id, limite);
+        } else {
+            ids = dataPedido == null
+                    ? pedidoRepository.findActiveIdsFirst(limite)
+                    : pedidoRepository.findActiveIdsBefore(dataPedido, id, limite);
+        }
+        return ids.map(hydrator(ids.getContent()));
     }
 
     public PedidoResponseDTO findById(Long id) {
         log.info("Buscando pedido por ID: {}", id);
 
-        Pedido pedido = pedidoRepository.findActiveById(id)
+        Pedido pedido = pedidoRepository.findActiveWithItensById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Pedido não encontrado com ID: " + id));
 
         return toResponseDTO(pedido);
@@ -69,15 +108,15 @@ public class PedidoService {
             throw new ResourceNotFoundException("Usuário não encontrado com ID: " + usuarioId);
         }
 
-        Page<Pedido> pedidos = pedidoRepository.findActiveByUsuarioId(usuarioId, pageable);
-        return pedidos.map(this::toResponseDTO);
+        Page<Long> ids = pedidoRepository.findActiveIdsByUsuarioId(usuarioId, pageable);
+        return ids.map(hydrator(ids.getContent()));
     }
 
     public Page<PedidoResponseDTO> findByStatus(StatusPedido status, Pageable pageable) {
         log.info("Buscando pedidos com status: {}", status);
 
-        Page<Pedido> pedidos = pedidoRepository.findActiveByStatus(status, pageable);
-        return pedidos.map(this::toResponseDTO);
+        Page<Long> ids = pedidoRepository.findActiveIdsByStatus(status, pageable);
+        return ids.map(hydrator(ids.getContent()));
     }
 
     public PedidoResponseDTO create(PedidoCreateRequestDTO requestDTO) {
@@ -93,14 +132,15 @@ public class PedidoService {
         pedido.setDataPedido(LocalDateTime.now());
         pedido.setStatus(StatusPedido.PENDENTE);
 
+        // Buscar todos os tênis do pedido em uma única consulta
+        Map<Long, Tenis> tenisPorId = findTenisDoPedido(requestDTO.getItens());
+
         // Criar itens do pedido
         List<ItemPedido> itens = new ArrayList<>();
         BigDecimal valorTotal = BigDecimal.ZERO;
 
         for (ItemPedidoCreateRequestDTO itemDTO : requestDTO.getItens()) {
-            // Buscar e validar tênis
-            Tenis tenis = tenisRepository.findActiveById(itemDTO.getTenisId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Tênis não encontrado com ID: " + itemDTO.getTenisId()));
+            Tenis tenis = tenisPorId.get(itemDTO.getTenisId());
 
             // Criar item do pedido
             ItemPedido item = new ItemPedido();
@@ -123,16 +163,44 @@ public class PedidoService {
         pedido.setValorTotal(valorTotal);
 
         Pedido savedPedido = pedidoRepository.save(pedido);
+
+        // Estoque por último: a linha quente fica travada só até o commit (as vendas entram como delta, sem trava)
+        estoqueService.reservar(itens);
+        vendasService.registrar(savedPedido);
+
         log.info("Pedido criado com sucesso - ID: {} | Valor Total: {} | Itens: {}",
                 savedPedido.getId(), valorTotal, itens.size());
 
         return toResponseDTO(savedPedido);
     }
 
+    // Com Idempotency-Key, chave e pedido são gravados na mesma transação: um retry recebe o
+    // pedido já criado e um duplicado concorrente espera o primeiro terminar
+    public PedidoResponseDTO create(PedidoCreateRequestDTO requestDTO, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return create(requestDTO);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > Constants.IDEMPOTENCY_KEY_MAX_LENGTH) {
+            throw new BusinessException("Idempotency-Key deve ter entre 1 e "
+                    + Constants.IDEMPOTENCY_KEY_MAX_LENGTH + " caracteres");
+        }
+
+        // Chaves são isoladas por usuário
+        String chave = requestDTO.getUsuarioId() + ":" + idempotencyKey;
+        Optional<PedidoResponseDTO> anterior = idempotenciaService.iniciar(chave, requestDTO);
+        if (anterior.isPresent()) {
+            return anterior.get();
+        }
+
+        PedidoResponseDTO pedido = create(requestDTO);
+        idempotenciaService.concluir(chave, pedido);
+        return pedido;
+    }
+
     public PedidoResponseDTO updateStatus(Long id, StatusPedido novoStatus) {
         log.info("Atualizando status do pedido ID: {} para {}", id, novoStatus);
 
-        Pedido pedido = pedidoRepository.findActiveById(id)
+        Pedido pedido = pedidoRepository.findActiveWithItensById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Pedido não encontrado com ID: " + id));
 
         // Validar transição de status
@@ -140,28 +208,73 @@ public class PedidoService {
             throw new BusinessException("Transição de status inválida: " + pedido.getStatus() + " -> " + novoStatus);
         }
 
+        // A transição só vale se o status ainda for o lido; estoque e vendas são devolvidos uma única vez
+        LocalDateTime agora = LocalDateTime.now();
+        if (pedidoRepository.atualizarStatus(id, pedido.getStatus(), novoStatus, agora) == 0) {
+            throw new BusinessException("Pedido ID: " + id + " foi alterado por outra operação, tente novamente");
+        }
+
+        if (novoStatus == StatusPedido.CANCELADO) {
+            estoqueService.liberar(pedido.getItens());
+            vendasService.estornar(pedido);
+        }
+
+        // Entidade já desanexada pelo UPDATE: ajustada só para a resposta
         pedido.setStatus(novoStatus);
-        Pedido updatedPedido = pedidoRepository.save(pedido);
+        pedido.setUpdatedAt(agora);
 
         log.info("Status do pedido ID: {} atualizado para {}", id, novoStatus);
-        return toResponseDTO(updatedPedido);
+        return toResponseDTO(pedido);
     }
 
     public void delete(Long id) {
         log.info("Realizando soft delete do pedido ID: {}", id);
 
-        Pedido pedido = pedidoRepository.findActiveById(id)
+        Pedido pedido = pedidoRepository.findActiveWithItensById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Pedido não encontrado com ID: " + id));
 
-        // Só permite cancelar pedidos pendentes
-        if (pedido.getStatus() != StatusPedido.PENDENTE) {
+        // Só permite cancelar pedidos pendentes (verificado de novo no UPDATE, contra cancelamentos concorrentes)
+        if (pedido.getStatus() != StatusPedido.PENDENTE
+                || pedidoRepository.softDeleteComStatus(id, StatusPedido.PENDENTE, LocalDateTime.now()) == 0) {
             throw new BusinessException("Só é possível cancelar pedidos com status PENDENTE");
         }
 
-        pedidoRepository.softDelete(id);
+        estoqueService.liberar(pedido.getItens());
+        vendasService.estornar(pedido);
+
         log.info("Soft delete realizado com sucesso para pedido ID: {}", id);
     }
 
+    // Hidrata os IDs de uma página com usuário, itens e tênis em uma única consulta,
+    // preservando a ordenação da página
+    private Function<Long, PedidoResponseDTO> hydrator(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return id -> null;
+        }
+
+        Map<Long, Pedido> pedidosPorId = pedidoRepository.findAllWithItensByIdIn(ids).stream()
+                .collect(Collectors.toMap(Pedido::getId, Function.identity()));
+
+        return id -> toResponseDTO(pedidosPorId.get(id));
+    }
+
+    private Map<Long, Tenis> findTenisDoPedido(List<ItemPedidoCreateRequestDTO> itensDTO) {
+        Set<Long> tenisIds = new LinkedHashSet<>();
+        itensDTO.forEach(itemDTO -> tenisIds.add(itemDTO.getTenisId()));
+
+        Map<Long, Tenis> tenisPorId = tenisRepository.findActiveMapByIds(tenisIds);
+
+        // Reportar todos os IDs inexistentes de uma só vez
+        List<Long> naoEncontrados = tenisIds.stream()
+                .filter(id -> !tenisPorId.containsKey(id))
+                .toList();
+        if (!naoEncontrados.isEmpty()) {
+            throw new ResourceNotFoundException("Tênis não encontrados com IDs: " + naoEncontrados);
+        }
+
+        return tenisPorId;
+    }
+
     private boolean isValidStatusTransition(StatusPedido statusAtual, StatusPedido novoStatus) {
         return switch (statusAtual) {
             case PENDENTE -> novoStatus == StatusPedido.CONFIRMADO || novoStatus == StatusPedido.CANCELADO;
@@ -171,7 +284,8 @@ public class PedidoService {
         };
     }
 
-    private PedidoResponseDTO toResponseDTO(Pedido pedido) {
+    // Package-private para os benchmarks JMH (src/jmh/java)
+    PedidoResponseDTO toResponseDTO(Pedido pedido) {
         PedidoResponseDTO dto = new PedidoResponseDTO();
         dto.setId(pedido.getId());
         dto.setDataPedido(pedido.getDataPedido());
@@ -196,7 +310,7 @@ public class PedidoService {
         return dto;
     }
 
-    private ItemPedidoResponseDTO toItemResponseDTO(ItemPedido item) {
+    ItemPedidoResponseDTO toItemResponseDTO(ItemPedido item) {
         ItemPedidoResponseDTO dto = new ItemPedidoResponseDTO();
         dto.setId(item.getId());
         dto.setQuantidade(item.getQuantidade());
@@ -0,0 +1,143 @@
+package com.lojatenis.service;
+
+import com.lojatenis.domain.RefreshToken;
+import com.lojatenis.domain.Usuario;
+import com.lojatenis.exception.InvalidRefreshTokenException;
+import com.lojatenis.repository.RefreshTokenRepository;
+import com.lojatenis.security.UsuarioPrincipal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.UUID;
+
+// Refresh tokens opacos e rotativos: cada uso emite um novo token da mesma família e invalida o anterior.
+// O valor tem 256 bits aleatórios, então um SHA-256 basta para guardá-lo (sem BCrypt no refresh).
+@Service
+@Transactional
+@Slf4j
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TAMANHO_TOKEN = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration ttl;
+    private final int purgeBatchSize;
+
+    public record Emitido(String token, LocalDateTime expiresAt) {
+    }
+
+    public record Rotacao(UsuarioPrincipal principal, Emitido refreshToken) {
+    }
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${loja.auth.refresh.ttl}") Duration ttl,
+                               @Value("${loja.auth.refresh.purge-batch-size}") int purgeBatchSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.ttl = ttl;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    // Novo login: inicia uma família
+    public Emitido emitir(UsuarioPrincipal principal) {
+        return emitir(UUID.randomUUID().toString(), principal.getId());
+    }
+
+    // Uma leitura pela PK (com o usuário); o principal sai do próprio registro, sem carregar a senha
+    // pelo UserDetailsService. Mantém as remoções de família mesmo quando o refresh é recusado.
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotacao rotacionar(String token) {
+        String hash = hash(token);
+        LocalDateTime agora = LocalDateTime.now();
+
+        RefreshToken refreshToken = refreshTokenRepository.findByHashComUsuario(hash)
+                .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token inválido"));
+        Usuario usuario = refreshToken.getUsuario();
+
+        if (refreshToken.getUsadoEm() != null) {
+            throw revogar(refreshToken, "reuso de token já rotacionado");
+        }
+        if (!refreshToken.getExpiresAt().isAfter(agora)) {
+            throw new InvalidRefreshTokenException("Refresh token expirado");
+        }
+        if (Boolean.TRUE.equals(usuario.getDeleted())) {
+            throw revogar(refreshToken, "usuário removido");
+        }
+        if (refreshTokenRepository.marcarUsado(hash, agora) == 0) {
+            throw revogar(refreshToken, "reuso concorrente");
+        }
+
+        UsuarioPrincipal principal = new UsuarioPrincipal(
+                usuario.getId(),
+                usuario.getEmail(),
+                "",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + usuario.getRole().name())));
+
+        return new Rotacao(principal, emitir(refreshToken.getFamilia(), usuario.getId()));
+    }
+
+    // Troca de senha ou remoção do usuário: todas as famílias caem na mesma transação da alteração
+    public void revogarTodos(Long usuarioId) {
+        int removidos = refreshTokenRepository.deleteByUsuarioId(usuarioId);
+        log.info("Refresh tokens do usuário revogados - Usuário ID: {}, Tokens: {}", usuarioId, removidos);
+    }
+
+    // Cada lote roda na própria transação do repositório
+    @Scheduled(fixedDelayString = "${loja.auth.refresh.purge-interval}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void purgeExpired() {
+        LocalDateTime agora = LocalDateTime.now();
+        int total = 0;
+        int removidos;
+        do {
+            removidos = refreshTokenRepository.deleteExpired(agora, purgeBatchSize);
+            total += removidos;
+        } while (removidos == purgeBatchSize);
+
+        if (total > 0) {
+            log.info("Refresh tokens expirados removidos: {}", total);
+        }
+    }
+
+    private Emitido emitir(String familia, Long usuarioId) {
+        byte[] bytes = new byte[TAMANHO_TOKEN];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime expiresAt = agora.plus(ttl);
+        refreshTokenRepository.inserir(hash(token), familia, usuarioId, agora, expiresAt);
+        return new Emitido(token, expiresAt);
+    }
+
+    // Um token já usado voltou (provável vazamento): derruba a sessão inteira, inclusive o token legítimo atual
+    private InvalidRefreshTokenException revogar(RefreshToken refreshToken, String motivo) {
+        int removidos = refreshTokenRepository.deleteByFamilia(refreshToken.getFamilia());
+        log.warn("Família de refresh tokens revogada - Usuário ID: {}, Motivo: {}, Tokens: {}",
+                refreshToken.getUsuario().getId(), motivo, removidos);
+        return new InvalidRefreshTokenException("Refresh token inválido");
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
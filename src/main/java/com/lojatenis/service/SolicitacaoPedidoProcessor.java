@@ -0,0 +1,190 @@
+package com.lojatenis.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojatenis.domain.SolicitacaoPedido;
+import com.lojatenis.domain.enums.StatusSolicitacao;
+import com.lojatenis.dto.request.PedidoCreateRequestDTO;
+import com.lojatenis.dto.response.PedidoResponseDTO;
+import com.lojatenis.event.SolicitacaoPedidoRegistradaEvent;
+import com.lojatenis.exception.BusinessException;
+import com.lojatenis.exception.ResourceNotFoundException;
+import com.lojatenis.repository.SolicitacaoPedidoRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+
+// Drena as solicitações assíncronas em micro-lotes: vários pedidos por transação, com um número fixo
+// de workers (virtual threads), de modo que o uso do pool de conexões fica limitado a "workers".
+// A fila em memória é só um atalho; a tabela solicitacoes_pedido é a fonte da verdade e a varredura
+// periódica recupera o que ficou de fora (fila cheia, restart, falhas transitórias).
+@Component
+@Slf4j
+public class SolicitacaoPedidoProcessor {
+
+    private final SolicitacaoPedidoRepository solicitacaoRepository;
+    private final PedidoService pedidoService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Long> fila;
+    private final int workers;
+    private final int batchSize;
+    private final Duration sweepAge;
+    private final int maxTentativas;
+    private static final int MAX_ERRO_LENGTH = 500;
+
+    private final List<Thread> threads = new ArrayList<>();
+
+    private volatile boolean ativo;
+
+    public SolicitacaoPedidoProcessor(SolicitacaoPedidoRepository solicitacaoRepository,
+                                      PedidoService pedidoService,
+                                      ObjectMapper objectMapper,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${loja.pedidos.async.queue-capacity}") int queueCapacity,
+                                      @Value("${loja.pedidos.async.workers}") int workers,
+                                      @Value("${loja.pedidos.async.batch-size}") int batchSize,
+                                      @Value("${loja.pedidos.async.sweep-age}") Duration sweepAge,
+                                      @Value("${loja.pedidos.async.max-tentativas}") int maxTentativas) {
+        this.solicitacaoRepository = solicitacaoRepository;
+        this.pedidoService = pedidoService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.fila = new ArrayBlockingQueue<>(queueCapacity);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.sweepAge = sweepAge;
+        this.maxTentativas = maxTentativas;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ativo = true;
+        ThreadFactory factory = Thread.ofVirtual().name("pedido-worker-", 0).factory();
+        for (int i = 0; i < workers; i++) {
+            Thread thread = factory.newThread(this::consumir);
+            threads.add(thread);
+            thread.start();
+        }
+        log.info("Processador de pedidos assíncronos iniciado - Workers: {}, Lote: {}", workers, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        // O que estiver na fila continua PENDENTE no banco e é retomado pela varredura
+        ativo = false;
+        threads.forEach(Thread::interrupt);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSolicitacaoRegistrada(SolicitacaoPedidoRegistradaEvent event) {
+        if (!fila.offer(event.getId())) {
+            log.warn("Fila de pedidos cheia - solicitação ID: {} aguardará a varredura", event.getId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${loja.pedidos.async.sweep-interval}")
+    public void varrerPendentes() {
+        int capacidade = fila.remainingCapacity();
+        if (!ativo || capacidade == 0) {
+            return;
+        }
+
+        List<Long> pendentes = solicitacaoRepository.findIdsByStatusCreatedBefore(StatusSolicitacao.PENDENTE,
+                LocalDateTime.now().minus(sweepAge), PageRequest.of(0, capacidade));
+        pendentes.forEach(fila::offer);
+
+        if (!pendentes.isEmpty()) {
+            log.info("Varredura reenfileirou {} solicitações pendentes", pendentes.size());
+        }
+    }
+
+    private void consumir() {
+        List<Long> lote = new ArrayList<>(batchSize);
+        while (ativo) {
+            try {
+                lote.add(fila.take());
+                fila.drainTo(lote, batchSize - 1);
+                processarLote(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Erro inesperado no worker de pedidos: {}", e.getMessage(), e);
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    // Tenta o lote inteiro em uma transação; se algum item falhar, o lote é desfeito e cada
+    // solicitação é reprocessada isoladamente para rejeitar só a que falhou
+    private void processarLote(List<Long> ids) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> processar(ids));
+        } catch (RuntimeException e) {
+            if (ids.size() == 1) {
+                tratarFalha(ids.get(0), e);
+                return;
+            }
+            log.warn("Falha no lote de {} solicitações, reprocessando individualmente: {}", ids.size(), e.getMessage());
+            for (Long id : ids) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> processar(List.of(id)));
+                } catch (RuntimeException individual) {
+                    tratarFalha(id, individual);
+                }
+            }
+        }
+    }
+
+    private void processar(List<Long> ids) {
+        for (SolicitacaoPedido solicitacao : solicitacaoRepository.lockPendentes(ids)) {
+            PedidoResponseDTO pedido = pedidoService.create(lerPayload(solicitacao));
+            solicitacao.setStatus(StatusSolicitacao.PROCESSADA);
+            solicitacao.setPedidoId(pedido.getId());
+        }
+    }
+
+    // Erros de negócio são definitivos; os demais deixam a solicitação PENDENTE para a varredura
+    // até max-tentativas (constraint violada, payload antigo incompatível...), depois ela é REJEITADA
+    private void tratarFalha(Long id, RuntimeException e) {
+        String erro = e.getMessage() != null && e.getMessage().length() > MAX_ERRO_LENGTH
+                ? e.getMessage().substring(0, MAX_ERRO_LENGTH)
+                : e.getMessage();
+        if (e instanceof BusinessException || e instanceof ResourceNotFoundException) {
+            transactionTemplate.executeWithoutResult(status -> solicitacaoRepository.rejeitar(id, erro));
+            log.info("Solicitação de pedido ID: {} rejeitada: {}", id, e.getMessage());
+        } else {
+            transactionTemplate.executeWithoutResult(status ->
+                    solicitacaoRepository.registrarFalha(id, erro, maxTentativas));
+            log.error("Falha ao processar solicitação de pedido ID: {} (limite de {} tentativas): {}",
+                    id, maxTentativas, e.getMessage(), e);
+        }
+    }
+
+    private PedidoCreateRequestDTO lerPayload(SolicitacaoPedido solicitacao) {
+        try {
+            return objectMapper.readValue(solicitacao.getPayload(), PedidoCreateRequestDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Payload inválido na solicitação ID: " + solicitacao.getId());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.lojatenis.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojatenis.domain.SolicitacaoPedido;
+import com.lojatenis.domain.enums.Role;
+import com.lojatenis.domain.enums.StatusSolicitacao;
+import com.lojatenis.dto.request.PedidoCreateRequestDTO;
+import com.lojatenis.dto.response.SolicitacaoPedidoResponseDTO;
+import com.lojatenis.event.SolicitacaoPedidoRegistradaEvent;
+import com.lojatenis.exception.ResourceNotFoundException;
+import com.lojatenis.repository.SolicitacaoPedidoRepository;
+import com.lojatenis.security.UsuarioPrincipal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional
+@Slf4j
+public class SolicitacaoPedidoService {
+
+    private static final String ROLE_ADMIN = "ROLE_" + Role.ADMIN.name();
+
+    private final SolicitacaoPedidoRepository solicitacaoRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SolicitacaoPedidoService(SolicitacaoPedidoRepository solicitacaoRepository,
+                                    ObjectMapper objectMapper,
+                                    ApplicationEventPublisher eventPublisher) {
+        this.solicitacaoRepository = solicitacaoRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Grava só a solicitação (transação curta); o pedido é criado pelos workers do processador
+    public SolicitacaoPedidoResponseDTO registrar(PedidoCreateRequestDTO requestDTO) {
+        log.info("Registrando solicitação assíncrona de pedido para usuário ID: {}", requestDTO.getUsuarioId());
+
+        SolicitacaoPedido solicitacao = new SolicitacaoPedido();
+        solicitacao.setUsuarioId(requestDTO.getUsuarioId());
+        solicitacao.setStatus(StatusSolicitacao.PENDENTE);
+        try {
+            solicitacao.setPayload(objectMapper.writeValueAsString(requestDTO));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar solicitação de pedido", e);
+        }
+
+        SolicitacaoPedido saved = solicitacaoRepository.save(solicitacao);
+        eventPublisher.publishEvent(new SolicitacaoPedidoRegistradaEvent(saved.getId()));
+
+        log.info("Solicitação de pedido registrada - ID: {}", saved.getId());
+        return toResponseDTO(saved);
+    }
+
+    // Clientes só enxergam as próprias solicitações; as de outros usuários respondem 404, como IDs inexistentes
+    @Transactional(readOnly = true)
+    public SolicitacaoPedidoResponseDTO findById(Long id, UsuarioPrincipal solicitante) {
+        log.info("Buscando solicitação de pedido por ID: {}", id);
+
+        SolicitacaoPedido solicitacao = solicitacaoRepository.findActiveById(id)
+                .filter(s -> isAdmin(solicitante) || s.getUsuarioId().equals(solicitante.getId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Solicitação de pedido não encontrada com ID: " + id));
+
+        return toResponseDTO(solicitacao);
+    }
+
+    private static boolean isAdmin(UsuarioPrincipal usuario) {
+        return usuario.getAuthorities().stream()
+                .anyMatch(authority -> ROLE_ADMIN.equals(authority.getAuthority()));
+    }
+
+    private SolicitacaoPedidoResponseDTO toResponseDTO(SolicitacaoPedido solicitacao) {
+        SolicitacaoPedidoResponseDTO dto = new SolicitacaoPedidoResponseDTO();
+        dto.setId(solicitacao.getId());
+        dto.setStatus(solicitacao.getStatus());
+        dto.setPedidoId(solicitacao.getPedidoId());
+        dto.setErro(solicitacao.getErro());
+        dto.setCreatedAt(solicitacao.getCreatedAt());
+        dto.setUpdatedAt(solicitacao.getUpdatedAt());
+        return dto;
+    }
+}
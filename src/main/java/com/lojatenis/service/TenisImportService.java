@@ -0,0 +1,390 @@
+package com.lojatenis.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.lojatenis.domain.Categoria;
+import com.lojatenis.domain.Tenis;
+import com.lojatenis.dto.request.TenisCreateRequestDTO;
+import com.lojatenis.dto.response.ErroImportacaoDTO;
+import com.lojatenis.dto.response.ImportacaoResultadoDTO;
+import com.lojatenis.event.CatalogoAlteradoEvent;
+import com.lojatenis.exception.BusinessException;
+import com.lojatenis.repository.CategoriaRepository;
+import com.lojatenis.repository.TenisRepository;
+import com.lojatenis.util.CsvUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Importação em lote do catálogo: lê NDJSON/CSV linha a linha (sem carregar o arquivo),
+// grava em transações por bloco com upsert por (marca, modelo) e devolve os erros por linha
+@Service
+@Slf4j
+public class TenisImportService {
+
+    public enum Formato { NDJSON, CSV }
+
+    private static final List<String> COLUNAS_CSV =
+            List.of("nome", "marca", "modelo", "preco", "descricao", "cor", "material", "categoriaIds");
+    private static final String SEPARADOR_CATEGORIAS = "\\|";
+
+    private final TenisRepository tenisRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final ObjectReader ndjsonReader;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxErros;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TenisImportService(TenisRepository tenisRepository,
+                              CategoriaRepository categoriaRepository,
+                              ObjectMapper objectMapper,
+                              Validator validator,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${loja.importacao.chunk-size}") int chunkSize,
+                              @Value("${loja.importacao.max-erros}") int maxErros) {
+        this.tenisRepository = tenisRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.ndjsonReader = objectMapper.readerFor(TenisCreateRequestDTO.class);
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxErros = maxErros;
+    }
+
+    public ImportacaoResultadoDTO importar(InputStream inputStream, Formato formato) throws IOException {
+        log.info("Iniciando importação de tênis - Formato: {}", formato);
+
+        Importacao importacao = new Importacao();
+        List<Linha> bloco = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            long numero = 0;
+            Map<String, Integer> colunas = null;
+            if (formato == Formato.CSV) {
+                colunas = lerCabecalho(reader.readLine());
+                numero++;
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                numero++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                importacao.totalLinhas++;
+
+                try {
+                    TenisCreateRequestDTO dto = formato == Formato.CSV ? lerCsv(line, colunas) : lerNdjson(line);
+                    validar(dto);
+                    bloco.add(new Linha(numero, dto, hash(dto)));
+                } catch (BusinessException | IllegalArgumentException e) {
+                    importacao.erro(numero, e.getMessage());
+                }
+
+                if (bloco.size() == chunkSize) {
+                    gravarBloco(bloco, importacao);
+                    bloco.clear();
+                }
+            }
+
+            if (!bloco.isEmpty()) {
+                gravarBloco(bloco, importacao);
+            }
+        } finally {
+            // Uma única invalidação do cache do catálogo ao final, inclusive quando a leitura falha no
+            // meio (IOException, cliente desconectado): os blocos já gravados foram confirmados
+            if (importacao.criados + importacao.atualizados > 0) {
+                eventPublisher.publishEvent(new CatalogoAlteradoEvent(CatalogoAlteradoEvent.Tipo.TENIS, null));
+            }
+        }
+
+        log.info("Importação concluída - Linhas: {} | Criados: {} | Atualizados: {} | Inalterados: {} | Rejeitados: {}",
+                importacao.totalLinhas, importacao.criados, importacao.atualizados,
+                importacao.inalterados, importacao.rejeitados);
+        return importacao.toResultadoDTO();
+    }
+
+    // Grava o bloco em uma transação; se falhar, regrava linha a linha para isolar o erro.
+    // Um tênis criado por outra importação (ou POST /tenis) entre a busca e o INSERT viola
+    // uk_tenis_modelo_marca; na regravação a linha o encontra e vira atualização.
+    private void gravarBloco(List<Linha> bloco, Importacao importacao) {
+        List<Linha> validas = filtrarCategorias(bloco, importacao);
+        if (validas.isEmpty()) {
+            return;
+        }
+
+        try {
+            importacao.somar(transactionTemplate.execute(status -> upsert(validas)));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar bloco de {} linhas, regravando individualmente: {}", validas.size(), e.getMessage());
+            for (Linha linha : validas) {
+                try {
+                    importacao.somar(transactionTemplate.execute(status -> upsert(List.of(linha))));
+                } catch (RuntimeException individual) {
+                    importacao.erro(linha.numero(), causaRaiz(individual));
+                }
+            }
+        }
+    }
+
+    private Contagem upsert(List<Linha> linhas) {
+        Set<String> modelos = linhas.stream()
+                .map(linha -> linha.dto().getModelo())
+                .collect(Collectors.toSet());
+
+        Map<String, Tenis> existentes = new HashMap<>();
+        tenisRepository.findActiveWithCategoriasByModeloIn(modelos)
+                .forEach(tenis -> existentes.put(chave(tenis.getMarca(), tenis.getModelo()), tenis));
+
+        int criados = 0;
+        int atualizados = 0;
+        int inalterados = 0;
+        for (Linha linha : linhas) {
+            TenisCreateRequestDTO dto = linha.dto();
+            String chave = chave(dto.getMarca(), dto.getModelo());
+            Tenis tenis = existentes.get(chave);
+
+            if (tenis != null && linha.hash().equals(tenis.getHashConteudo())) {
+                inalterados++;
+                continue;
+            }
+
+            boolean novo = tenis == null;
+            if (novo) {
+                tenis = new Tenis();
+            }
+            aplicar(tenis, dto, linha.hash());
+
+            if (novo) {
+                entityManager.persist(tenis);
+                // Linhas repetidas no mesmo bloco atualizam o tênis recém-criado
+                existentes.put(chave, tenis);
+                criados++;
+            } else {
+                atualizados++;
+            }
+        }
+
+        // INSERTs/UPDATEs em batch e contexto de persistência limpo a cada bloco
+        entityManager.flush();
+        entityManager.clear();
+        return new Contagem(criados, atualizados, inalterados);
+    }
+
+    private void aplicar(Tenis tenis, TenisCreateRequestDTO dto, String hash) {
+        tenis.setNome(dto.getNome());
+        tenis.setMarca(dto.getMarca());
+        tenis.setModelo(dto.getModelo());
+        tenis.setPreco(dto.getPreco());
+        tenis.setDescricao(dto.getDescricao());
+        tenis.setCor(dto.getCor());
+        tenis.setMaterial(dto.getMaterial());
+        tenis.setHashConteudo(hash);
+
+        // Categorias já validadas: referências sem SELECT
+        Set<Categoria> categorias = new HashSet<>();
+        dto.getCategoriaIds().forEach(id -> categorias.add(categoriaRepository.getReferenceById(id)));
+        tenis.setCategorias(categorias);
+    }
+
+    // Resolve as categorias do bloco com uma consulta (só IDs ainda não vistos nesta importação)
+    private List<Linha> filtrarCategorias(List<Linha> bloco, Importacao importacao) {
+        Set<Long> novas = bloco.stream()
+                .flatMap(linha -> linha.dto().getCategoriaIds().stream())
+                .filter(id -> !importacao.categorias.containsKey(id))
+                .collect(Collectors.toSet());
+        if (!novas.isEmpty()) {
+            novas.forEach(id -> importacao.categorias.put(id, false));
+            categoriaRepository.findActiveByIds(novas)
+                    .forEach(categoria -> importacao.categorias.put(categoria.getId(), true));
+        }
+
+        List<Linha> validas = new ArrayList<>(bloco.size());
+        for (Linha linha : bloco) {
+            List<Long> inexistentes = linha.dto().getCategoriaIds().stream()
+                    .filter(id -> !importacao.categorias.get(id))
+                    .toList();
+            if (inexistentes.isEmpty()) {
+                validas.add(linha);
+            } else {
+                importacao.erro(linha.numero(), "Categorias não encontradas com IDs: " + inexistentes);
+            }
+        }
+        return validas;
+    }
+
+    private Map<String, Integer> lerCabecalho(String cabecalho) {
+        if (cabecalho == null) {
+            throw new BusinessException("Arquivo CSV vazio");
+        }
+
+        Map<String, Integer> colunas = new HashMap<>();
+        List<String> nomes = CsvUtils.parseLine(cabecalho);
+        for (int i = 0; i < nomes.size(); i++) {
+            colunas.put(nomes.get(i).trim(), i);
+        }
+
+        List<String> ausentes = COLUNAS_CSV.stream()
+                .filter(coluna -> !colunas.containsKey(coluna))
+                .toList();
+        if (!ausentes.isEmpty()) {
+            throw new BusinessException("Colunas ausentes no cabeçalho CSV: " + ausentes);
+        }
+        return colunas;
+    }
+
+    private TenisCreateRequestDTO lerCsv(String line, Map<String, Integer> colunas) {
+        List<String> campos = CsvUtils.parseLine(line);
+
+        TenisCreateRequestDTO dto = new TenisCreateRequestDTO();
+        dto.setNome(campo(campos, colunas, "nome"));
+        dto.setMarca(campo(campos, colunas, "marca"));
+        dto.setModelo(campo(campos, colunas, "modelo"));
+        dto.setDescricao(campo(campos, colunas, "descricao"));
+        dto.setCor(campo(campos, colunas, "cor"));
+        dto.setMaterial(campo(campos, colunas, "material"));
+
+        String preco = campo(campos, colunas, "preco");
+        String categoriaIds = campo(campos, colunas, "categoriaIds");
+        try {
+            dto.setPreco(preco == null ? null : new BigDecimal(preco));
+            dto.setCategoriaIds(categoriaIds == null ? null : Arrays.stream(categoriaIds.split(SEPARADOR_CATEGORIAS))
+                    .map(String::trim)
+                    .filter(id -> !id.isEmpty())
+                    .map(Long::valueOf)
+                    .collect(Collectors.toSet()));
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Valor numérico inválido em preco/categoriaIds");
+        }
+        return dto;
+    }
+
+    private String campo(List<String> campos, Map<String, Integer> colunas, String nome) {
+        int indice = colunas.get(nome);
+        if (indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private TenisCreateRequestDTO lerNdjson(String line) {
+        try {
+            return ndjsonReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private void validar(TenisCreateRequestDTO dto) {
+        Set<ConstraintViolation<TenisCreateRequestDTO>> violacoes = validator.validate(dto);
+        if (!violacoes.isEmpty()) {
+            throw new BusinessException(violacoes.stream()
+                    .map(violacao -> violacao.getPropertyPath() + ": " + violacao.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        // @NotEmpty aceita [null] no NDJSON
+        if (dto.getCategoriaIds().contains(null)) {
+            throw new BusinessException("categoriaIds: não pode conter valores nulos");
+        }
+    }
+
+    // Hash dos campos importados (categorias ordenadas, preço sem zeros à direita)
+    private String hash(TenisCreateRequestDTO dto) {
+        String conteudo = String.join("\u001F",
+                dto.getNome(),
+                dto.getMarca(),
+                dto.getModelo(),
+                dto.getPreco().stripTrailingZeros().toPlainString(),
+                String.valueOf(dto.getDescricao()),
+                String.valueOf(dto.getCor()),
+                String.valueOf(dto.getMaterial()),
+                dto.getCategoriaIds().stream().sorted().map(String::valueOf).collect(Collectors.joining(",")));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(conteudo.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private String chave(String marca, String modelo) {
+        return marca + "\u001F" + modelo;
+    }
+
+    private String causaRaiz(Throwable e) {
+        Throwable causa = e;
+        while (causa.getCause() != null && causa.getCause() != causa) {
+            causa = causa.getCause();
+        }
+        return causa.getMessage();
+    }
+
+    private record Linha(long numero, TenisCreateRequestDTO dto, String hash) {
+    }
+
+    private record Contagem(int criados, int atualizados, int inalterados) {
+    }
+
+    // Estado de uma importação: contadores, erros e categorias já resolvidas
+    private class Importacao {
+        private final Map<Long, Boolean> categorias = new HashMap<>();
+        private final List<ErroImportacaoDTO> erros = new ArrayList<>();
+        private long totalLinhas;
+        private long criados;
+        private long atualizados;
+        private long inalterados;
+        private long rejeitados;
+
+        void somar(Contagem contagem) {
+            criados += contagem.criados();
+            atualizados += contagem.atualizados();
+            inalterados += contagem.inalterados();
+        }
+
+        void erro(long linha, String mensagem) {
+            rejeitados++;
+            if (erros.size() < maxErros) {
+                erros.add(new ErroImportacaoDTO(linha, mensagem));
+            }
+        }
+
+        ImportacaoResultadoDTO toResultadoDTO() {
+            return new ImportacaoResultadoDTO(totalLinhas, criados, atualizados, inalterados, rejeitados, erros);
+        }
+    }
+}
@@ -2,20 +2,36 @@ package com.lojatenis.service;
 
 import com.lojatenis.domain.Categoria;
 import com.lojatenis.domain.Tenis;
+import com.lojatenis.dto.projection.TenisBuscaProjection;
+import com.lojatenis.dto.projection.TenisCategoriaProjection;
+import com.lojatenis.dto.projection.TenisListagemProjection;
 import com.lojatenis.dto.request.TenisCreateRequestDTO;
+import com.lojatenis.dto.request.TenisFiltroDTO;
+import com.lojatenis.dto.response.CategoriaResponseDTO;
+import com.lojatenis.dto.response.TenisBuscaResponseDTO;
 import com.lojatenis.dto.response.TenisResponseDTO;
+import com.lojatenis.event.CatalogoAlteradoEvent;
+import com.lojatenis.exception.BusinessException;
 import com.lojatenis.exception.ResourceNotFoundException;
 import com.lojatenis.repository.CategoriaRepository;
 import com.lojatenis.repository.TenisRepository;
+import com.lojatenis.repository.TenisSpecifications;
+import com.lojatenis.util.CacheKeyUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,35 +42,82 @@ public class TenisService {
     private final TenisRepository tenisRepository;
     private final CategoriaRepository categoriaRepository;
     private final CategoriaService categoriaService;
+    private final CatalogoCache catalogoCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TenisService(TenisRepository tenisRepository,
                         CategoriaRepository categoriaRepository,
-                        CategoriaService categoriaService) {
+                        CategoriaService categoriaService,
+                        CatalogoCache catalogoCache,
+                        ApplicationEventPublisher eventPublisher) {
         this.tenisRepository = tenisRepository;
         this.categoriaRepository = categoriaRepository;
         this.categoriaService = categoriaService;
+        this.catalogoCache = catalogoCache;
+        this.eventPublisher = eventPublisher;
     }
 
-    public Page<TenisResponseDTO> findAll(Pageable pageable) {
-        log.info("Buscando todos os tênis ativos - Página: {}, Tamanho: {}",
-                pageable.getPageNumber(), pageable.getPageSize());
+    // Versão corrente do catálogo (validadores HTTP); não consulta o banco
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CatalogoCache.Versao getVersaoCatalogo() {
+        return catalogoCache.getVersao();
+    }
+
+    // Busca combinada: todos os filtros informados são aplicados juntos
+    @Transactional(readOnly = true)
+    public Page<TenisResponseDTO> search(TenisFiltroDTO filtro, Pageable pageable) {
+        log.info("Buscando tênis por filtro: {} - Página: {}, Tamanho: {}",
+                filtro, pageable.getPageNumber(), pageable.getPageSize());
+
+        return catalogoCache.getTenisPage(buscaCacheKey(filtro, pageable), () -> {
+            Page<TenisListagemProjection> listagem =
+                    tenisRepository.findListagem(TenisSpecifications.fromFiltro(filtro), pageable);
+            return listagem.map(listagemMapper(listagem.getContent()));
+        });
+    }
+
+    // Busca textual (nome, marca, modelo, descrição) ordenada por relevância; aceita a sintaxe
+    // de websearch_to_tsquery: "frase exata", OR e -exclusão
+    @Transactional(readOnly = true)
+    public TenisBuscaResponseDTO buscarTexto(String termo, Pageable pageable) {
+        if (termo == null || termo.isBlank()) {
+            throw new BusinessException("Informe um termo de busca");
+        }
+        log.info("Busca textual de tênis: '{}' - Página: {}, Tamanho: {}",
+                termo, pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Tenis> tenisPage = tenisRepository.findAllActive(pageable);
-        return tenisPage.map(this::toResponseDTO);
+        Page<TenisBuscaProjection> resultado = tenisRepository.buscarTexto(termo.strip(), pageable);
+        return new TenisBuscaResponseDTO(termo.strip(), resultado.getContent(), resultado.getNumber(),
+                resultado.getSize(), resultado.getTotalElements(), resultado.getTotalPages());
     }
 
+    @Transactional(readOnly = true)
+    public Slice<TenisResponseDTO> findAllAfter(Long afterId, int size) {
+        log.info("Buscando tênis ativos por cursor - Após ID: {}, Tamanho: {}", afterId, size);
+
+        return catalogoCache.getTenisSlice("cursor:" + afterId + ":" + size, () -> {
+            Slice<TenisListagemProjection> listagem =
+                    tenisRepository.findListagemAfter(afterId, PageRequest.of(0, size));
+            return listagem.map(listagemMapper(listagem.getContent()));
+        });
+    }
+
+    @Transactional(readOnly = true)
     public TenisResponseDTO findById(Long id) {
         log.info("Buscando tênis por ID: {}", id);
 
-        Tenis tenis = tenisRepository.findActiveById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Tênis não encontrado com ID: " + id));
-
-        return toResponseDTO(tenis);
+        return catalogoCache.getTenis(id, () -> {
+            Tenis tenis = tenisRepository.findActiveById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Tênis não encontrado com ID: " + id));
+            return toResponseDTO(tenis);
+        });
     }
 
     public TenisResponseDTO create(TenisCreateRequestDTO requestDTO) {
         log.info("Criando novo tênis: {}", requestDTO.getNome());
 
+        validarMarcaModelo(requestDTO, null);
+
         // Validar e buscar categorias
         Set<Categoria> categorias = validateAndGetCategorias(requestDTO.getCategoriaIds());
 
@@ -71,6 +134,8 @@ public class TenisService {
         Tenis savedTenis = tenisRepository.save(tenis);
         log.info("Tênis criado com sucesso - ID: {}", savedTenis.getId());
 
+        eventPublisher.publishEvent(new CatalogoAlteradoEvent(CatalogoAlteradoEvent.Tipo.TENIS, savedTenis.getId()));
+
         return toResponseDTO(savedTenis);
     }
 
@@ -80,6 +145,8 @@ public class TenisService {
         Tenis tenis = tenisRepository.findActiveById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Tênis não encontrado com ID: " + id));
 
+        validarMarcaModelo(requestDTO, id);
+
         // Validar e buscar categorias
         Set<Categoria> categorias = validateAndGetCategorias(requestDTO.getCategoriaIds());
 
@@ -91,10 +158,14 @@ public class TenisService {
         tenis.setCor(requestDTO.getCor());
         tenis.setMaterial(requestDTO.getMaterial());
         tenis.setCategorias(categorias);
+        // Alterado fora da importação: a próxima importação deve regravar a linha
+        tenis.setHashConteudo(null);
 
         Tenis updatedTenis = tenisRepository.save(tenis);
         log.info("Tênis atualizado com sucesso - ID: {}", updatedTenis.getId());
 
+        eventPublisher.publishEvent(new CatalogoAlteradoEvent(CatalogoAlteradoEvent.Tipo.TENIS, id));
+
         return toResponseDTO(updatedTenis);
     }
 
@@ -107,19 +178,32 @@ public class TenisService {
 
         tenisRepository.softDelete(id);
         log.info("Soft delete realizado com sucesso para tênis ID: {}", id);
+
+        eventPublisher.publishEvent(new CatalogoAlteradoEvent(CatalogoAlteradoEvent.Tipo.TENIS, id));
+    }
+
+    private void validarMarcaModelo(TenisCreateRequestDTO requestDTO, Long id) {
+        if (tenisRepository.existsActiveByMarcaAndModelo(requestDTO.getMarca(), requestDTO.getModelo(), id)) {
+            throw new BusinessException("Já existe um tênis com marca " + requestDTO.getMarca()
+                    + " e modelo " + requestDTO.getModelo());
+        }
     }
 
+    // Uma única consulta para todas as categorias; IDs inexistentes são reportados juntos
     private Set<Categoria> validateAndGetCategorias(Set<Long> categoriaIds) {
-        Set<Categoria> categorias = new HashSet<>();
-        for (Long categoriaId : categoriaIds) {
-            Categoria categoria = categoriaRepository.findActiveById(categoriaId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Categoria não encontrada com ID: " + categoriaId));
-            categorias.add(categoria);
+        Set<Categoria> categorias = categoriaRepository.findActiveByIds(categoriaIds);
+        if (categorias.size() != categoriaIds.size()) {
+            Set<Long> encontradas = categorias.stream().map(Categoria::getId).collect(Collectors.toSet());
+            List<Long> naoEncontradas = categoriaIds.stream()
+                    .filter(id -> !encontradas.contains(id))
+                    .toList();
+            throw new ResourceNotFoundException("Categorias não encontradas com IDs: " + naoEncontradas);
         }
-        return categorias;
+        return new HashSet<>(categorias);
     }
 
-    private TenisResponseDTO toResponseDTO(Tenis tenis) {
+    // Package-private para os benchmarks JMH (src/jmh/java)
+    TenisResponseDTO toResponseDTO(Tenis tenis) {
         TenisResponseDTO dto = new TenisResponseDTO();
         dto.setId(tenis.getId());
         dto.setNome(tenis.getNome());
@@ -135,7 +219,7 @@ public class TenisService {
         // Converter categorias
         dto.setCategorias(tenis.getCategorias().stream()
                 .map(categoria -> {
-                    var categoriaDTO = new com.lojatenis.dto.response.CategoriaResponseDTO();
+                    var categoriaDTO = new CategoriaResponseDTO();
                     categoriaDTO.setId(categoria.getId());
                     categoriaDTO.setNome(categoria.getNome());
                     categoriaDTO.setDescricao(categoria.getDescricao());
@@ -146,25 +230,56 @@ public class TenisService {
         return dto;
     }
 
-    public Page<TenisResponseDTO> findByNome(String nome, Pageable pageable) {
-        log.info("Buscando tênis por nome: {}", nome);
-
-        Page<Tenis> tenisPage = tenisRepository.findByNomeContainingIgnoreCase(nome, pageable);
-        return tenisPage.map(this::toResponseDTO);
+    private String buscaCacheKey(TenisFiltroDTO filtro, Pageable pageable) {
+        return "busca:" + CacheKeyUtils.normalize(filtro.getNome())
+                + "|" + CacheKeyUtils.normalize(filtro.getMarca())
+                + "|" + CacheKeyUtils.normalize(filtro.getPrecoMin())
+                + "|" + CacheKeyUtils.normalize(filtro.getPrecoMax())
+                + "|" + CacheKeyUtils.normalize(filtro.getCor())
+                + "|" + CacheKeyUtils.normalize(filtro.getMaterial())
+                + "|" + (filtro.getCategoriaId() == null ? "" : filtro.getCategoriaId())
+                + "|" + CacheKeyUtils.page(pageable);
     }
 
-    public Page<TenisResponseDTO> findByMarca(String marca, Pageable pageable) {
-        log.info("Buscando tênis por marca: {}", marca);
+    // Conversor de uma página da listagem, com as categorias de todos os itens carregadas em uma única consulta
+    private Function<TenisListagemProjection, TenisResponseDTO> listagemMapper(List<TenisListagemProjection> listagem) {
+        if (listagem.isEmpty()) {
+            return tenis -> toListagemDTO(tenis, Set.of());
+        }
+
+        List<Long> tenisIds = listagem.stream()
+                .map(TenisListagemProjection::getId)
+                .toList();
+
+        Map<Long, Set<CategoriaResponseDTO>> categoriasPorTenis =
+                tenisRepository.findCategoriasByTenisIds(tenisIds).stream()
+                        .collect(Collectors.groupingBy(TenisCategoriaProjection::getTenisId,
+                                Collectors.mapping(this::toCategoriaDTO, Collectors.toSet())));
 
-        Page<Tenis> tenisPage = tenisRepository.findByMarcaContainingIgnoreCase(marca, pageable);
-        return tenisPage.map(this::toResponseDTO);
+        return tenis -> toListagemDTO(tenis, categoriasPorTenis.getOrDefault(tenis.getId(), Set.of()));
     }
 
-    public Page<TenisResponseDTO> findByPrecoRange(BigDecimal precoMin, BigDecimal precoMax, Pageable pageable) {
-        log.info("Buscando tênis por faixa de preço: {} - {}", precoMin, precoMax);
+    private TenisResponseDTO toListagemDTO(TenisListagemProjection tenis, Set<CategoriaResponseDTO> categorias) {
+        TenisResponseDTO dto = new TenisResponseDTO();
+        dto.setId(tenis.getId());
+        dto.setNome(tenis.getNome());
+        dto.setMarca(tenis.getMarca());
+        dto.setModelo(tenis.getModelo());
+        dto.setPreco(tenis.getPreco());
+        dto.setCor(tenis.getCor());
+        dto.setMaterial(tenis.getMaterial());
+        dto.setCreatedAt(tenis.getCreatedAt());
+        dto.setUpdatedAt(tenis.getUpdatedAt());
+        dto.setCategorias(new HashSet<>(categorias));
+        return dto;
+    }
 
-        Page<Tenis> tenisPage = tenisRepository.findByPrecoBetween(precoMin, precoMax, pageable);
-        return tenisPage.map(this::toResponseDTO);
+    private CategoriaResponseDTO toCategoriaDTO(TenisCategoriaProjection categoria) {
+        CategoriaResponseDTO dto = new CategoriaResponseDTO();
+        dto.setId(categoria.getCategoriaId());
+        dto.setNome(categoria.getNome());
+        dto.setDescricao(categoria.getDescricao());
+        return dto;
     }
 
 }
@@ -3,12 +3,16 @@ package com.lojatenis.service;
 import com.lojatenis.domain.Usuario;
 import com.lojatenis.dto.request.UsuarioCreateRequestDTO;
 import com.lojatenis.dto.response.UsuarioResponseDTO;
+import com.lojatenis.event.UsuarioAlteradoEvent;
 import com.lojatenis.exception.BusinessException;
 import com.lojatenis.exception.ResourceNotFoundException;
 import com.lojatenis.repository.UsuarioRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,10 +24,17 @@ public class UsuarioService {
 
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RefreshTokenService refreshTokenService;
 
-    public UsuarioService(UsuarioRepository usuarioRepository, PasswordEncoder passwordEncoder) {
+    public UsuarioService(UsuarioRepository usuarioRepository,
+                          PasswordEncoder passwordEncoder,
+                          ApplicationEventPublisher eventPublisher,
+                          RefreshTokenService refreshTokenService) {
         this.usuarioRepository = usuarioRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        this.refreshTokenService = refreshTokenService;
     }
 
     // MÉTODO NOVO - Listar todos os usuários
@@ -35,6 +46,13 @@ public class UsuarioService {
         return usuarioPage.map(this::toResponseDTO);
     }
 
+    // Listagem por cursor (keyset em id), sem COUNT
+    public Slice<UsuarioResponseDTO> findAllAfter(Long afterId, int size) {
+        log.info("Buscando usuários ativos por cursor - Após ID: {}, Tamanho: {}", afterId, size);
+
+        return usuarioRepository.findActiveAfter(afterId, PageRequest.of(0, size)).map(this::toResponseDTO);
+    }
+
     // MÉTODO NOVO - Buscar usuário por ID
     public UsuarioResponseDTO findById(Long id) {
         log.info("Buscando usuário por ID: {}", id);
@@ -58,15 +76,21 @@ public class UsuarioService {
             throw new BusinessException("Email já está em uso: " + requestDTO.getEmail());
         }
 
+        // Principal em cache é indexado pelo email anterior
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(usuario.getEmail()));
+
         // Atualizar dados
         usuario.setEmail(requestDTO.getEmail());
         usuario.setNome(requestDTO.getNome());
         usuario.setTelefone(requestDTO.getTelefone());
         usuario.setRole(requestDTO.getRole());
 
-        // Atualizar senha apenas se fornecida
-        if (requestDTO.getSenha() != null && !requestDTO.getSenha().trim().isEmpty()) {
+        // Atualizar senha apenas se fornecida e diferente da atual. Troca de senha derruba todas as
+        // sessões: um refresh token vazado não pode continuar renovando o acesso depois do reset
+        if (requestDTO.getSenha() != null && !requestDTO.getSenha().trim().isEmpty()
+                && !passwordEncoder.matches(requestDTO.getSenha(), usuario.getSenha())) {
             usuario.setSenha(passwordEncoder.encode(requestDTO.getSenha()));
+            refreshTokenService.revogarTodos(id);
         }
 
         Usuario updatedUsuario = usuarioRepository.save(usuario);
@@ -79,12 +103,14 @@ public class UsuarioService {
     public void delete(Long id) {
         log.info("Realizando soft delete do usuário ID: {}", id);
 
-        if (!usuarioRepository.existsActiveById(id)) {
-            throw new ResourceNotFoundException("Usuário não encontrado com ID: " + id);
-        }
+        Usuario usuario = usuarioRepository.findActiveById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + id));
 
         usuarioRepository.softDelete(id);
+        refreshTokenService.revogarTodos(id);
         log.info("Soft delete realizado com sucesso para usuário ID: {}", id);
+
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(usuario.getEmail()));
     }
 
     // MÉTODO EXISTENTE - Criar usuário
@@ -0,0 +1,190 @@
+package com.lojatenis.service;
+
+import com.lojatenis.domain.ItemPedido;
+import com.lojatenis.domain.Pedido;
+import com.lojatenis.dto.projection.TenisMaisVendidoProjection;
+import com.lojatenis.dto.projection.VendasPorDiaProjection;
+import com.lojatenis.dto.projection.VendasPorGrupoProjection;
+import com.lojatenis.dto.response.BackfillResultadoDTO;
+import com.lojatenis.exception.BusinessException;
+import com.lojatenis.repository.VendaDiariaRepository;
+import com.lojatenis.util.ValidationUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Service
+@Transactional
+@Slf4j
+public class VendasService {
+
+    // Chave do advisory lock que separa consolidação e reconstrução do rollup
+    private static final long TRAVA_ROLLUP = 0x76656e646173L;
+
+    private final VendaDiariaRepository vendaDiariaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int backfillDiasPorBloco;
+    private final int backfillParalelismo;
+    private final int consolidacaoLote;
+
+    public VendasService(VendaDiariaRepository vendaDiariaRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${loja.vendas.backfill.dias-por-bloco}") int backfillDiasPorBloco,
+                         @Value("${loja.vendas.backfill.paralelismo}") int backfillParalelismo,
+                         @Value("${loja.vendas.consolidacao.lote}") int consolidacaoLote) {
+        this.vendaDiariaRepository = vendaDiariaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillDiasPorBloco = backfillDiasPorBloco;
+        this.backfillParalelismo = backfillParalelismo;
+        this.consolidacaoLote = consolidacaoLote;
+    }
+
+    // Chamados na transação do pedido: o delta é gravado junto com o pedido (nunca diverge dele), mas
+    // como INSERT em vendas_pendentes. Fazer o upsert em vendas_diarias aqui travaria a linha (dia, tênis)
+    // até o commit e enfileiraria todos os checkouts do mesmo tênis, de qualquer tamanho.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(Pedido pedido) {
+        acumular(pedido, 1);
+    }
+
+    // Só depois da transição condicional do pedido (PedidoRepository.atualizarStatus/softDeleteComStatus):
+    // o estorno não é idempotente, e cancelamentos concorrentes subtrairiam o mesmo pedido duas vezes
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void estornar(Pedido pedido) {
+        acumular(pedido, -1);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TenisMaisVendidoProjection> findMaisVendidos(LocalDate inicio, LocalDate fim, int limite) {
+        log.info("Buscando tênis mais vendidos - Período: {} a {}, Limite: {}", inicio, fim, limite);
+        validarPeriodo(inicio, fim);
+        return vendaDiariaRepository.findMaisVendidos(inicio, fim,
+                PageRequest.of(0, ValidationUtils.clampPageSize(limite)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<VendasPorDiaProjection> findReceitaPorDia(LocalDate inicio, LocalDate fim) {
+        log.info("Buscando receita por dia - Período: {} a {}", inicio, fim);
+        validarPeriodo(inicio, fim);
+        return vendaDiariaRepository.findPorDia(inicio, fim);
+    }
+
+    @Transactional(readOnly = true)
+    public List<VendasPorGrupoProjection> findReceitaPorMarca(LocalDate inicio, LocalDate fim) {
+        log.info("Buscando receita por marca - Período: {} a {}", inicio, fim);
+        validarPeriodo(inicio, fim);
+        return vendaDiariaRepository.findPorMarca(inicio, fim);
+    }
+
+    @Transactional(readOnly = true)
+    public List<VendasPorGrupoProjection> findReceitaPorCategoria(LocalDate inicio, LocalDate fim) {
+        log.info("Buscando receita por categoria - Período: {} a {}", inicio, fim);
+        validarPeriodo(inicio, fim);
+        return vendaDiariaRepository.findPorCategoria(inicio, fim);
+    }
+
+    // Leva os deltas pendentes para vendas_diarias; os relatórios ficam até um intervalo atrasados.
+    // Cada lote na própria transação, sob a trava exclusiva do rollup.
+    @Scheduled(fixedDelayString = "${loja.vendas.consolidacao.intervalo}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int consolidar() {
+        int total = 0;
+        int linhas;
+        do {
+            linhas = transactionTemplate.execute(status -> {
+                vendaDiariaRepository.travar(TRAVA_ROLLUP);
+                return vendaDiariaRepository.consolidar(consolidacaoLote);
+            });
+            total += linhas;
+        } while (linhas > 0);
+
+        if (total > 0) {
+            log.debug("Vendas pendentes consolidadas - Linhas do rollup: {}", total);
+        }
+        return total;
+    }
+
+    // Reconstrói o rollup a partir dos itens em blocos de dias, cada bloco na própria transação e em
+    // paralelo. Vale também para dias ainda recebendo pedidos: cada bloco é um único comando (um
+    // snapshot) e não se sobrepõe à consolidação, então nada é contado duas vezes nem perdido.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BackfillResultadoDTO backfill(LocalDate inicio, LocalDate fim) {
+        log.info("Iniciando backfill de vendas - Período: {} a {}", inicio, fim);
+        validarPeriodo(inicio, fim);
+
+        List<Future<Integer>> blocos = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(backfillParalelismo,
+                Thread.ofVirtual().name("vendas-backfill-", 0).factory())) {
+            for (LocalDate blocoInicio = inicio; !blocoInicio.isAfter(fim); blocoInicio = blocoInicio.plusDays(backfillDiasPorBloco)) {
+                LocalDate de = blocoInicio;
+                LocalDate ate = min(blocoInicio.plusDays(backfillDiasPorBloco - 1L), fim);
+                blocos.add(executor.submit(() -> reconstruir(de, ate)));
+            }
+        }
+
+        long linhas = 0;
+        for (Future<Integer> bloco : blocos) {
+            try {
+                linhas += bloco.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Backfill de vendas interrompido", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falha no backfill de vendas: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        log.info("Backfill de vendas concluído - Blocos: {} | Linhas: {}", blocos.size(), linhas);
+        return new BackfillResultadoDTO(inicio, fim, blocos.size(), linhas);
+    }
+
+    private int reconstruir(LocalDate inicio, LocalDate fim) {
+        return transactionTemplate.execute(status -> {
+            vendaDiariaRepository.travarCompartilhado(TRAVA_ROLLUP);
+            return vendaDiariaRepository.rebuild(inicio.atStartOfDay(), fim.plusDays(1).atStartOfDay());
+        });
+    }
+
+    // Agrupa os itens por tênis: um delta por tênis do pedido
+    private void acumular(Pedido pedido, int sinal) {
+        LocalDate dia = pedido.getDataPedido().toLocalDate();
+        Map<Long, Long> quantidades = new TreeMap<>();
+        Map<Long, BigDecimal> receitas = new TreeMap<>();
+        for (ItemPedido item : pedido.getItens()) {
+            Long tenisId = item.getTenis().getId();
+            quantidades.merge(tenisId, (long) item.getQuantidade(), Long::sum);
+            receitas.merge(tenisId, item.getPrecoUnitario().multiply(BigDecimal.valueOf(item.getQuantidade())),
+                    BigDecimal::add);
+        }
+
+        quantidades.forEach((tenisId, quantidade) -> vendaDiariaRepository.registrarPendente(dia, tenisId,
+                sinal * quantidade, sinal > 0 ? receitas.get(tenisId) : receitas.get(tenisId).negate()));
+    }
+
+    private void validarPeriodo(LocalDate inicio, LocalDate fim) {
+        if (fim.isBefore(inicio)) {
+            throw new BusinessException("Data final deve ser igual ou posterior à data inicial");
+        }
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
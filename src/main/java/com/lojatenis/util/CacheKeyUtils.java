@@ -0,0 +1,29 @@
+package com.lojatenis.util;
+
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+public final class CacheKeyUtils {
+
+    private CacheKeyUtils() {
+        // Utility class
+    }
+
+    // Consultas equivalentes ("Nike " e "nike", 100 e 100.00) compartilham a mesma chave
+    public static String normalize(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return "";
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static String normalize(BigDecimal value) {
+        return value == null ? "" : value.stripTrailingZeros().toPlainString();
+    }
+
+    public static String page(Pageable pageable) {
+        return pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort();
+    }
+}
@@ -10,6 +10,14 @@ public final class Constants {
     public static final String JWT_HEADER = "Authorization";
     public static final String JWT_PREFIX = "Bearer ";
     public static final String JWT_CLAIM_ROLES = "roles";
+    public static final String JWT_CLAIM_USER_ID = "uid";
+
+    // Idempotency Constants
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final int IDEMPOTENCY_KEY_MAX_LENGTH = 100;
+
+    // Media Types
+    public static final String TEXT_CSV_VALUE = "text/csv";
 
     // Pagination Constants
     public static final int DEFAULT_PAGE_SIZE = 10;
@@ -0,0 +1,59 @@
+package com.lojatenis.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CsvUtils {
+
+    private CsvUtils() {
+        // Utility class
+    }
+
+    // Campo pronto para CSV: entre aspas quando contém separador, aspas ou quebra de linha
+    public static String escape(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    // Divide uma linha CSV (RFC 4180): campos entre aspas podem conter vírgulas e "" escapa aspas.
+    // Campos com quebra de linha não são suportados (a leitura é linha a linha).
+    public static List<String> parseLine(String line) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (entreAspas) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        atual.append('"');
+                        i++;
+                    } else {
+                        entreAspas = false;
+                    }
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+
+        if (entreAspas) {
+            throw new IllegalArgumentException("Aspas não fechadas na linha CSV");
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+}
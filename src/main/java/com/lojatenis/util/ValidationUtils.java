@@ -29,6 +29,11 @@ public final class ValidationUtils {
         return cep != null && CEP_PATTERN.matcher(cep).matches();
     }
 
+    // Tamanho de página entre 1 e MAX_PAGE_SIZE: zero ou negativo seria um IllegalArgumentException (500)
+    public static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, Constants.MAX_PAGE_SIZE));
+    }
+
     public static String formatCep(String cep) {
         if (cep == null) return null;
         return cep.replaceAll("\\D", "");
@@ -0,0 +1,6 @@
+-- Índices para paginação por keyset (cursor) de pedidos: (data_pedido, id) em ordem decrescente
+CREATE INDEX IF NOT EXISTS idx_pedidos_keyset
+    ON pedidos (data_pedido DESC, id DESC) WHERE deleted = false;
+
+CREATE INDEX IF NOT EXISTS idx_pedidos_status_keyset
+    ON pedidos (status, data_pedido DESC, id DESC) WHERE deleted = false;
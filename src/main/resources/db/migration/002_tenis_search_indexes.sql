@@ -0,0 +1,14 @@
+-- Índices da busca combinada de tênis (TenisSpecifications)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- LOWER(nome/marca) LIKE '%x%': índices trigram nas mesmas expressões usadas nas consultas
+CREATE INDEX IF NOT EXISTS idx_tenis_nome_trgm ON tenis USING gin (lower(nome) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_tenis_marca_trgm ON tenis USING gin (lower(marca) gin_trgm_ops);
+
+-- Igualdade case-insensitive em cor/material e faixa de preço
+CREATE INDEX IF NOT EXISTS idx_tenis_cor_lower ON tenis (lower(cor));
+CREATE INDEX IF NOT EXISTS idx_tenis_material_lower ON tenis (lower(material));
+CREATE INDEX IF NOT EXISTS idx_tenis_preco ON tenis (preco);
+
+-- Filtro por categoria parte de categoria_id na tabela de junção
+CREATE INDEX IF NOT EXISTS idx_tenis_categoria_categoria ON tenis_categoria (categoria_id, tenis_id);
@@ -0,0 +1,27 @@
+-- Sequências dos IDs (BaseEntity usa GenerationType.SEQUENCE com allocationSize 50).
+-- Tabelas criadas com IDENTITY mantêm seus IDs; cada sequência é posicionada acima do maior ID
+-- existente e nunca retrocede, então o script pode rodar a cada inicialização.
+
+CREATE SEQUENCE IF NOT EXISTS tenis_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('tenis_seq', GREATEST((SELECT last_value FROM tenis_seq), (SELECT COALESCE(MAX(id), 0) FROM tenis) + 50));
+
+CREATE SEQUENCE IF NOT EXISTS categoria_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('categoria_seq', GREATEST((SELECT last_value FROM categoria_seq), (SELECT COALESCE(MAX(id), 0) FROM categorias) + 50));
+
+CREATE SEQUENCE IF NOT EXISTS usuario_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('usuario_seq', GREATEST((SELECT last_value FROM usuario_seq), (SELECT COALESCE(MAX(id), 0) FROM usuarios) + 50));
+
+CREATE SEQUENCE IF NOT EXISTS endereco_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('endereco_seq', GREATEST((SELECT last_value FROM endereco_seq), (SELECT COALESCE(MAX(id), 0) FROM enderecos) + 50));
+
+CREATE SEQUENCE IF NOT EXISTS pedido_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('pedido_seq', GREATEST((SELECT last_value FROM pedido_seq), (SELECT COALESCE(MAX(id), 0) FROM pedidos) + 50));
+
+CREATE SEQUENCE IF NOT EXISTS item_pedido_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('item_pedido_seq', GREATEST((SELECT last_value FROM item_pedido_seq), (SELECT COALESCE(MAX(id), 0) FROM itens_pedido) + 50));
+
+CREATE SEQUENCE IF NOT EXISTS estoque_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('estoque_seq', GREATEST((SELECT last_value FROM estoque_seq), (SELECT COALESCE(MAX(id), 0) FROM estoque) + 50));
+
+CREATE SEQUENCE IF NOT EXISTS solicitacao_pedido_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('solicitacao_pedido_seq', GREATEST((SELECT last_value FROM solicitacao_pedido_seq), (SELECT COALESCE(MAX(id), 0) FROM solicitacoes_pedido) + 50));
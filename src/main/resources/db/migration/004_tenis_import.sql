@@ -0,0 +1,6 @@
+-- Chave natural do catálogo: (marca, modelo) única entre os tênis ativos. Serve também à busca de
+-- candidatos por modelo do upsert da importação em lote, e impede duplicatas de importações
+-- concorrentes ou de uma importação disputando com POST /tenis.
+-- Duplicatas ativas já existentes precisam ser resolvidas antes (o CREATE falha).
+CREATE UNIQUE INDEX IF NOT EXISTS uk_tenis_modelo_marca ON tenis (modelo, marca) WHERE deleted = false;
+DROP INDEX IF EXISTS idx_tenis_modelo_marca;
@@ -0,0 +1,3 @@
+-- Itens por pedido (exportação, hidratação de páginas): o Hibernate não indexa chaves estrangeiras.
+-- O período da exportação usa idx_pedidos_keyset (001) em varredura reversa.
+CREATE INDEX IF NOT EXISTS idx_itens_pedido_pedido ON itens_pedido (pedido_id);
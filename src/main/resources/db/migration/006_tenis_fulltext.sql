@@ -0,0 +1,24 @@
+-- Busca textual do catálogo: configuração "portuguese" com unaccent antes do stemmer,
+-- assim "calcado" encontra "calçado" e ts_headline destaca o texto original acentuado
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- CREATE TEXT SEARCH CONFIGURATION não tem IF NOT EXISTS; o corpo do DO usa aspas simples (sem dollar-quoting)
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = ''pt_unaccent'') THEN
+        CREATE TEXT SEARCH CONFIGURATION pt_unaccent (COPY = portuguese);
+        ALTER TEXT SEARCH CONFIGURATION pt_unaccent
+            ALTER MAPPING FOR hword, hword_part, word WITH unaccent, portuguese_stem;
+    END IF;
+END
+';
+
+-- Pesos: nome (A), marca/modelo (B), cor/material (C), descricao (D)
+ALTER TABLE tenis ADD COLUMN IF NOT EXISTS busca tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('pt_unaccent'::regconfig, coalesce(nome, '')), 'A') ||
+    setweight(to_tsvector('pt_unaccent'::regconfig, coalesce(marca, '') || ' ' || coalesce(modelo, '')), 'B') ||
+    setweight(to_tsvector('pt_unaccent'::regconfig, coalesce(cor, '') || ' ' || coalesce(material, '')), 'C') ||
+    setweight(to_tsvector('pt_unaccent'::regconfig, coalesce(descricao, '')), 'D')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_tenis_busca ON tenis USING gin (busca);
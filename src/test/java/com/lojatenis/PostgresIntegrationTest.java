@@ -0,0 +1,116 @@
+package com.lojatenis;
+
+import com.lojatenis.dto.request.CategoriaCreateRequestDTO;
+import com.lojatenis.dto.request.EstoqueRequestDTO;
+import com.lojatenis.dto.request.TenisCreateRequestDTO;
+import com.lojatenis.dto.request.UsuarioCreateRequestDTO;
+import com.lojatenis.dto.response.EstoqueResponseDTO;
+import com.lojatenis.service.CategoriaService;
+import com.lojatenis.service.EstoqueService;
+import com.lojatenis.service.TenisService;
+import com.lojatenis.service.UsuarioService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Base dos testes que dependem do Postgres real (locks de linha, índices, planos de execução).
+// Um único container por JVM, iniciado junto com o primeiro contexto; sem Docker os testes são ignorados.
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "loja.render-cache.enabled=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    protected CategoriaService categoriaService;
+
+    @Autowired
+    protected TenisService tenisService;
+
+    @Autowired
+    protected EstoqueService estoqueService;
+
+    @Autowired
+    protected UsuarioService usuarioService;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        POSTGRES.start();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    protected Long novoUsuario() {
+        UsuarioCreateRequestDTO usuario = new UsuarioCreateRequestDTO();
+        usuario.setEmail("cliente-" + UUID.randomUUID() + "@teste.com");
+        usuario.setSenha("senha123");
+        usuario.setNome("Cliente Teste");
+        return usuarioService.create(usuario).getId();
+    }
+
+    protected Long novoTenis() {
+        Long categoriaId = categoriaService.create(
+                new CategoriaCreateRequestDTO("Categoria " + UUID.randomUUID(), null)).getId();
+
+        TenisCreateRequestDTO tenis = new TenisCreateRequestDTO();
+        tenis.setNome("Tênis Teste");
+        tenis.setMarca("Marca " + UUID.randomUUID().toString().substring(0, 8));
+        tenis.setModelo("Modelo " + UUID.randomUUID().toString().substring(0, 8));
+        tenis.setPreco(new BigDecimal("299.90"));
+        tenis.setCategoriaIds(Set.of(categoriaId));
+        return tenisService.create(tenis).getId();
+    }
+
+    protected void definirEstoque(Long tenisId, int tamanho, int quantidade) {
+        estoqueService.definir(tenisId, new EstoqueRequestDTO(tamanho, quantidade));
+    }
+
+    // Dispara as tarefas juntas (após uma barreira) e retorna quantas terminaram sem exceção
+    protected static int executarConcorrentes(int threads, Callable<?> tarefa) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger sucessos = new AtomicInteger();
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.submit(() -> {
+                    largada.await();
+                    tarefa.call();
+                    sucessos.incrementAndGet();
+                    return null;
+                });
+            }
+            largada.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Tarefas concorrentes não terminaram a tempo");
+        }
+        return sucessos.get();
+    }
+
+    protected int estoque(Long tenisId, int tamanho) {
+        return estoqueService.findByTenisId(tenisId).stream()
+                .filter(e -> e.getTamanho() == tamanho)
+                .mapToInt(EstoqueResponseDTO::getQuantidade)
+                .findFirst()
+                .orElse(0);
+    }
+}
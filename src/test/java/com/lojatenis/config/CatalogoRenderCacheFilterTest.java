@@ -0,0 +1,106 @@
+package com.lojatenis.config;
+
+import com.lojatenis.service.CatalogoCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogoRenderCacheFilterTest {
+
+    private final AtomicReference<CatalogoCache.Versao> versao = new AtomicReference<>(versao(1));
+    private final AtomicInteger renderizacoes = new AtomicInteger();
+
+    // Simula o controller: cada renderização gera um corpo diferente, com ETag
+    private final FilterChain controller = (request, response) -> {
+        HttpServletResponse http = (HttpServletResponse) response;
+        http.setHeader(HttpHeaders.ETAG, "\"v1\"");
+        http.setContentType("application/hal+json");
+        http.getWriter().write("{\"renderizacao\":" + renderizacoes.incrementAndGet() + "}");
+    };
+
+    private CatalogoRenderCacheFilter filtro(int maxKeyLength) {
+        CatalogoCache catalogoCache = mock(CatalogoCache.class);
+        when(catalogoCache.getVersao()).thenAnswer(invocation -> versao.get());
+        return new CatalogoRenderCacheFilter(catalogoCache, new SimpleMeterRegistry(),
+                DataSize.ofMegabytes(1), maxKeyLength);
+    }
+
+    @Test
+    void ordemDosParametrosNaoMudaAChave() throws Exception {
+        CatalogoRenderCacheFilter filtro = filtro(1024);
+
+        String primeira = get(filtro, "/tenis", "size", "10", "page", "0");
+        String segunda = get(filtro, "/tenis", "page", "0", "size", "10");
+
+        assertThat(segunda).isEqualTo(primeira);
+        assertThat(renderizacoes).hasValue(1);
+    }
+
+    @Test
+    void parametrosCaminhoEHostDiferentesSaoChavesDiferentes() throws Exception {
+        CatalogoRenderCacheFilter filtro = filtro(1024);
+
+        get(filtro, "/tenis", "page", "0");
+        get(filtro, "/tenis", "page", "1");
+        get(filtro, "/tenis/1");
+
+        MockHttpServletRequest outroHost = request("/tenis", "page", "0");
+        outroHost.addHeader(HttpHeaders.HOST, "api.outra-loja.com");
+        filtro.doFilter(outroHost, new MockHttpServletResponse(), controller);
+
+        assertThat(renderizacoes).hasValue(4);
+    }
+
+    @Test
+    void novaVersaoDoCatalogoNaoReaproveitaARenderizacao() throws Exception {
+        CatalogoRenderCacheFilter filtro = filtro(1024);
+
+        get(filtro, "/categorias");
+        versao.set(versao(2));
+        get(filtro, "/categorias");
+
+        assertThat(renderizacoes).hasValue(2);
+    }
+
+    @Test
+    void chaveAcimaDoLimiteNaoEhCacheada() throws Exception {
+        CatalogoRenderCacheFilter filtro = filtro(64);
+
+        get(filtro, "/tenis", "nome", "x".repeat(100));
+        get(filtro, "/tenis", "nome", "x".repeat(100));
+
+        assertThat(renderizacoes).hasValue(2);
+    }
+
+    private String get(CatalogoRenderCacheFilter filtro, String uri, String... parametros) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(request(uri, parametros), response, controller);
+        return response.getContentAsString();
+    }
+
+    private static MockHttpServletRequest request(String uri, String... parametros) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        for (int i = 0; i < parametros.length; i += 2) {
+            request.addParameter(parametros[i], parametros[i + 1]);
+        }
+        return request;
+    }
+
+    private static CatalogoCache.Versao versao(long numero) {
+        Instant agora = Instant.now();
+        return new CatalogoCache.Versao("teste", numero, 0, agora, agora);
+    }
+}
@@ -0,0 +1,85 @@
+package com.lojatenis.controller;
+
+import com.lojatenis.service.CatalogoCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogoHttpCacheTest {
+
+    private static final String ETAG = "\"abc.7\"";
+    private static final long ALTERADO_EM = 1_700_000_000_000L;
+
+    private final CatalogoHttpCache httpCache = new CatalogoHttpCache(Duration.ofSeconds(60));
+
+    @Test
+    void ifNoneMatchIgualOuCuringaNaoModificado() {
+        assertThat(naoModificado(HttpHeaders.IF_NONE_MATCH, ETAG)).isTrue();
+        assertThat(naoModificado(HttpHeaders.IF_NONE_MATCH, "\"outro\", W/" + ETAG)).isTrue();
+        assertThat(naoModificado(HttpHeaders.IF_NONE_MATCH, "*")).isTrue();
+        assertThat(naoModificado(HttpHeaders.IF_NONE_MATCH, "\"abc.6\"")).isFalse();
+    }
+
+    @Test
+    void ifNoneMatchTemPrecedenciaSobreIfModifiedSince() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tenis");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"abc.6\"");
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, ALTERADO_EM + 5_000);
+
+        assertThat(CatalogoHttpCache.naoModificado(request, ETAG, ALTERADO_EM)).isFalse();
+    }
+
+    @Test
+    void ifModifiedSinceComparaEmSegundos() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tenis");
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, ALTERADO_EM - 400);
+        assertThat(CatalogoHttpCache.naoModificado(request, ETAG, ALTERADO_EM)).isTrue();
+
+        request = new MockHttpServletRequest("GET", "/tenis");
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, ALTERADO_EM - 1_000);
+        assertThat(CatalogoHttpCache.naoModificado(request, ETAG, ALTERADO_EM)).isFalse();
+    }
+
+    @Test
+    void semCabecalhosCondicionaisModificado() {
+        assertThat(CatalogoHttpCache.naoModificado(new MockHttpServletRequest("GET", "/tenis"), ETAG, ALTERADO_EM))
+                .isFalse();
+    }
+
+    @Test
+    void respostaMontadaDuranteAlteracaoVaiSemValidadores() {
+        CatalogoCache.Versao lida = versao(1);
+        ResponseEntity<String> resposta = httpCache.ok(lida, versao(2), ETAG, ALTERADO_EM).body("{}");
+
+        assertThat(resposta.getHeaders().getETag()).isNull();
+        assertThat(resposta.getHeaders().getLastModified()).isEqualTo(-1);
+        assertThat(resposta.getHeaders().getCacheControl()).isEqualTo("no-cache");
+    }
+
+    @Test
+    void respostaNaoModificadaLevaOsValidadores() {
+        ResponseEntity<Void> resposta = httpCache.respostaNaoModificada(ETAG, ALTERADO_EM);
+
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(resposta.getHeaders().getETag()).isEqualTo(ETAG);
+        assertThat(resposta.getHeaders().getLastModified()).isEqualTo(ALTERADO_EM);
+    }
+
+    private static boolean naoModificado(String header, String valor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tenis");
+        request.addHeader(header, valor);
+        return CatalogoHttpCache.naoModificado(request, ETAG, ALTERADO_EM);
+    }
+
+    private static CatalogoCache.Versao versao(long numero) {
+        Instant alteradoEm = Instant.ofEpochMilli(ALTERADO_EM);
+        return new CatalogoCache.Versao("abc", numero, 0, alteradoEm, alteradoEm);
+    }
+}
@@ -0,0 +1,77 @@
+package com.lojatenis.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+class LinkFactoryTest {
+
+    private final LinkFactory linkFactory = new LinkFactory();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void foraDeRequisicaoOsLinksSaoRelativos() {
+        assertThat(linkFactory.tenis(7L, "self").getHref()).isEqualTo("/tenis/7");
+        assertThat(linkFactory.estoque(7L, "estoque").getHref()).isEqualTo("/tenis/7/estoque");
+        assertThat(linkFactory.solicitacao(9L, "self").getHref()).isEqualTo("/pedidos/solicitacoes/9");
+        assertThat(linkFactory.pedidosDoUsuario(5L).getHref()).startsWith("/pedidos/usuario/5");
+    }
+
+    @Test
+    void linkDeStatusNaoLevaAQueryObrigatoria() {
+        Link link = linkFactory.statusPedido(3L);
+
+        assertThat(link.getHref()).isEqualTo("/pedidos/3/status");
+        assertThat(link.getRel().value()).isEqualTo("update-status");
+    }
+
+    @Test
+    void linksDeColecaoUsamORelFixo() {
+        assertThat(linkFactory.todosTenis().getRel().value()).isEqualTo("all-tenis");
+        assertThat(linkFactory.todosTenis().getHref()).startsWith("/tenis");
+        assertThat(linkFactory.todasCategorias().getRel().value()).isEqualTo("all-categorias");
+        assertThat(linkFactory.todosPedidos().getHref()).startsWith("/pedidos");
+    }
+
+    @Test
+    void naRequisicaoOsLinksSaoAbsolutosComoNoLinkTo() {
+        emRequisicao("api.loja.com");
+
+        assertThat(linkFactory.tenis(7L, "self").getHref())
+                .isEqualTo("http://api.loja.com/api/tenis/7")
+                .isEqualTo(linkTo(methodOn(TenisController.class).findById(7L)).withSelfRel().getHref());
+        assertThat(linkFactory.estoque(7L, "estoque").getHref())
+                .isEqualTo(linkTo(methodOn(EstoqueController.class).findByTenisId(7L)).withSelfRel().getHref());
+        assertThat(linkFactory.pedido(3L, "self").getHref())
+                .isEqualTo(linkTo(methodOn(PedidoController.class).findById(3L)).withSelfRel().getHref());
+    }
+
+    @Test
+    void baseEhCalculadaUmaVezPorRequisicao() {
+        MockHttpServletRequest request = emRequisicao("api.loja.com");
+        linkFactory.categoria(1L, "self");
+
+        request.setServerName("outro-host");
+
+        assertThat(linkFactory.categoria(2L, "self").getHref()).isEqualTo("http://api.loja.com/api/categorias/2");
+    }
+
+    private static MockHttpServletRequest emRequisicao(String host) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tenis");
+        request.setServerName(host);
+        request.setContextPath("/api");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        return request;
+    }
+}
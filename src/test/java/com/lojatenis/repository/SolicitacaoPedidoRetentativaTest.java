@@ -0,0 +1,61 @@
+package com.lojatenis.repository;
+
+import com.lojatenis.PostgresIntegrationTest;
+import com.lojatenis.domain.SolicitacaoPedido;
+import com.lojatenis.domain.enums.StatusSolicitacao;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SolicitacaoPedidoRetentativaTest extends PostgresIntegrationTest {
+
+    private static final int MAX_TENTATIVAS = 3;
+
+    @Autowired
+    private SolicitacaoPedidoRepository solicitacaoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void falhasInesperadasRejeitamASolicitacaoNoLimiteDeTentativas() {
+        Long id = novaSolicitacao();
+
+        for (int i = 1; i < MAX_TENTATIVAS; i++) {
+            assertThat(registrarFalha(id)).isEqualTo(1);
+            SolicitacaoPedido solicitacao = solicitacaoRepository.findById(id).orElseThrow();
+            assertThat(solicitacao.getStatus()).isEqualTo(StatusSolicitacao.PENDENTE);
+            assertThat(solicitacao.getTentativas()).isEqualTo(i);
+        }
+
+        assertThat(registrarFalha(id)).isEqualTo(1);
+        SolicitacaoPedido solicitacao = solicitacaoRepository.findById(id).orElseThrow();
+        assertThat(solicitacao.getStatus()).isEqualTo(StatusSolicitacao.REJEITADA);
+        assertThat(solicitacao.getTentativas()).isEqualTo(MAX_TENTATIVAS);
+        assertThat(solicitacao.getErro()).isEqualTo("violação de constraint");
+
+        // Fora de PENDENTE: a varredura não a reenfileira e novas falhas não mudam nada
+        assertThat(solicitacaoRepository.findIdsByStatusCreatedBefore(StatusSolicitacao.PENDENTE,
+                LocalDateTime.now().plusMinutes(1), PageRequest.of(0, 10_000))).doesNotContain(id);
+        assertThat(registrarFalha(id)).isZero();
+    }
+
+    private int registrarFalha(Long id) {
+        return transactionTemplate.execute(status ->
+                solicitacaoRepository.registrarFalha(id, "violação de constraint", MAX_TENTATIVAS));
+    }
+
+    // Gravada direto, sem o evento que a colocaria na fila; a varredura só a veria após sweep-age
+    private Long novaSolicitacao() {
+        SolicitacaoPedido solicitacao = new SolicitacaoPedido();
+        solicitacao.setUsuarioId(novoUsuario());
+        solicitacao.setPayload("{}");
+        solicitacao.setStatus(StatusSolicitacao.PENDENTE);
+        return solicitacaoRepository.save(solicitacao).getId();
+    }
+}
@@ -0,0 +1,43 @@
+package com.lojatenis.repository;
+
+import com.lojatenis.PostgresIntegrationTest;
+import com.lojatenis.dto.projection.TenisBuscaProjection;
+import com.lojatenis.dto.request.CategoriaCreateRequestDTO;
+import com.lojatenis.dto.request.TenisCreateRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TenisBuscaTest extends PostgresIntegrationTest {
+
+    @Test
+    void trechoEscapaHtmlDaDescricaoEMantemODestaque() {
+        String termo = "solado" + UUID.randomUUID().toString().replaceAll("[^a-f]", "");
+        Long categoriaId = categoriaService.create(
+                new CategoriaCreateRequestDTO("Categoria " + UUID.randomUUID(), null)).getId();
+
+        TenisCreateRequestDTO tenis = new TenisCreateRequestDTO();
+        tenis.setNome("Tênis Busca");
+        tenis.setMarca("Marca " + UUID.randomUUID().toString().substring(0, 8));
+        tenis.setModelo("Modelo " + UUID.randomUUID().toString().substring(0, 8));
+        tenis.setDescricao("<img src=x onerror=\"alert('x')\"> Tênis com " + termo + " & cabedal");
+        tenis.setPreco(new BigDecimal("299.90"));
+        tenis.setCategoriaIds(Set.of(categoriaId));
+        Long id = tenisService.create(tenis).getId();
+
+        List<TenisBuscaProjection> resultados = tenisService.buscarTexto(termo, PageRequest.of(0, 10)).getResultados();
+
+        assertThat(resultados).extracting(TenisBuscaProjection::getId).containsExactly(id);
+        String trecho = resultados.get(0).getTrecho();
+        assertThat(trecho)
+                .contains("<mark>" + termo + "</mark>")
+                .contains("&lt;img", "&quot;", "&#39;", "&amp;")
+                .doesNotContain("<img", "'x'");
+    }
+}
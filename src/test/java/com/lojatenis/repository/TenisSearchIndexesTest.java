@@ -0,0 +1,58 @@
+package com.lojatenis.repository;
+
+import com.lojatenis.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Os planos confirmam que os filtros da busca combinada (TenisSpecifications) usam os índices de
+// 002_tenis_search_indexes.sql. Com poucas linhas o Postgres prefere seq scan, então ele é desligado
+// só nesta transação: o teste verifica se o índice é utilizável, não o custo escolhido em produção.
+@Transactional
+class TenisSearchIndexesTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @Test
+    void contemEmNomeEMarcaUsaIndicesTrigram() {
+        assertThat(plano("SELECT id FROM tenis WHERE deleted = false AND lower(nome) LIKE '%corrida%' ESCAPE '\\'"))
+                .contains("idx_tenis_nome_trgm");
+        assertThat(plano("SELECT id FROM tenis WHERE deleted = false AND lower(marca) LIKE '%nik%' ESCAPE '\\'"))
+                .contains("idx_tenis_marca_trgm");
+    }
+
+    @Test
+    void igualdadeEmCorEMaterialUsaIndicesFuncionais() {
+        assertThat(plano("SELECT id FROM tenis WHERE deleted = false AND lower(cor) = 'preto'"))
+                .contains("idx_tenis_cor_lower");
+        assertThat(plano("SELECT id FROM tenis WHERE deleted = false AND lower(material) = 'couro'"))
+                .contains("idx_tenis_material_lower");
+    }
+
+    @Test
+    void faixaDePrecoUsaIndiceDePreco() {
+        assertThat(plano("SELECT id FROM tenis WHERE deleted = false AND preco >= 100 AND preco <= 300"))
+                .contains("idx_tenis_preco");
+    }
+
+    @Test
+    void filtroPorCategoriaParteDoIndiceDaJuncao() {
+        assertThat(plano("SELECT t.id FROM tenis t JOIN tenis_categoria tc ON tc.tenis_id = t.id " +
+                "WHERE t.deleted = false AND tc.categoria_id = 1"))
+                .contains("idx_tenis_categoria_categoria");
+    }
+
+    private String plano(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
@@ -0,0 +1,103 @@
+package com.lojatenis.security;
+
+import com.lojatenis.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final CountDownLatch emAndamento = new CountDownLatch(1);
+    private final AtomicInteger autenticacoes = new AtomicInteger();
+
+    // Primeira autenticação fica presa até o teste liberar, ocupando a única thread do pool
+    private final AuthenticationManager bloqueante = authentication -> {
+        autenticacoes.incrementAndGet();
+        emAndamento.countDown();
+        try {
+            liberar.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return UsernamePasswordAuthenticationToken.authenticated(authentication.getPrincipal(), null, null);
+    };
+
+    private LoginExecutor loginExecutor;
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        if (loginExecutor != null) {
+            loginExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void autenticaNoPoolDeLogin() throws Exception {
+        AtomicInteger chamadasForaDoPool = new AtomicInteger();
+        loginExecutor = new LoginExecutor(authentication -> {
+            if (!Thread.currentThread().getName().startsWith("login-")) {
+                chamadasForaDoPool.incrementAndGet();
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(authentication.getPrincipal(), null, null);
+        }, meterRegistry, 1, 1, Duration.ofSeconds(2), Duration.ofSeconds(1));
+
+        Authentication authentication = loginExecutor.autenticar("a@loja.com", "senha").get(5, TimeUnit.SECONDS);
+
+        assertThat(authentication.getName()).isEqualTo("a@loja.com");
+        assertThat(chamadasForaDoPool).hasValue(0);
+    }
+
+    @Test
+    void filaCheiaRejeitaNaHoraSemAutenticar() throws Exception {
+        loginExecutor = new LoginExecutor(bloqueante, meterRegistry, 1, 1, Duration.ofSeconds(2), Duration.ofSeconds(3));
+
+        CompletableFuture<Authentication> emExecucao = loginExecutor.autenticar("a@loja.com", "senha");
+        assertThat(emAndamento.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Authentication> naFila = loginExecutor.autenticar("b@loja.com", "senha");
+
+        assertThatThrownBy(() -> loginExecutor.autenticar("c@loja.com", "senha"))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(3)));
+
+        liberar.countDown();
+        assertThat(emExecucao.get(5, TimeUnit.SECONDS).getName()).isEqualTo("a@loja.com");
+        assertThat(naFila.get(5, TimeUnit.SECONDS).getName()).isEqualTo("b@loja.com");
+        assertThat(autenticacoes).hasValue(2);
+        assertThat(meterRegistry.counter("loja.auth.login.rejeitados").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void esperaAcimaDoLimiteNaFilaRejeitaSemGastarHash() throws Exception {
+        loginExecutor = new LoginExecutor(bloqueante, meterRegistry, 1, 1, Duration.ofMillis(50), Duration.ofSeconds(1));
+
+        CompletableFuture<Authentication> emExecucao = loginExecutor.autenticar("a@loja.com", "senha");
+        assertThat(emAndamento.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Authentication> naFila = loginExecutor.autenticar("b@loja.com", "senha");
+
+        Thread.sleep(150);
+        liberar.countDown();
+
+        assertThat(emExecucao.get(5, TimeUnit.SECONDS).getName()).isEqualTo("a@loja.com");
+        assertThatThrownBy(() -> naFila.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TooManyRequestsException.class);
+        assertThat(autenticacoes).hasValue(1);
+        assertThat(meterRegistry.counter("loja.auth.login.rejeitados").count()).isEqualTo(1.0);
+    }
+}
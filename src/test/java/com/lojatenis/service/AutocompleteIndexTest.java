@@ -0,0 +1,155 @@
+package com.lojatenis.service;
+
+import com.lojatenis.dto.projection.TenisMaisVendidoProjection;
+import com.lojatenis.dto.response.SugestaoResponseDTO;
+import com.lojatenis.event.CatalogoAlteradoEvent;
+import com.lojatenis.repository.TenisRepository;
+import com.lojatenis.repository.VendaDiariaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AutocompleteIndexTest {
+
+    private static final SugestaoResponseDTO AIR_MAX = new SugestaoResponseDTO(1L, "Air Max 90", "Nike", "AM90");
+    private static final SugestaoResponseDTO AIR_FORCE = new SugestaoResponseDTO(2L, "Air Force 1", "Nike", "AF1");
+    private static final SugestaoResponseDTO ULTRABOOST = new SugestaoResponseDTO(3L, "Ultraboost", "Adidas", "UB22");
+    private static final SugestaoResponseDTO CORRIDA = new SugestaoResponseDTO(4L, "Tênis Corrida", "Olympikus", "Corre 3");
+
+    private final TenisRepository tenisRepository = mock(TenisRepository.class);
+    private final VendaDiariaRepository vendaDiariaRepository = mock(VendaDiariaRepository.class);
+
+    private AutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(tenisRepository.findAllSugestoes()).thenReturn(List.of(AIR_MAX, AIR_FORCE, ULTRABOOST, CORRIDA));
+        when(vendaDiariaRepository.findMaisVendidos(any(), any(), any())).thenReturn(List.of(
+                vendido(2L, 50), vendido(1L, 10), vendido(3L, 10)));
+
+        index = new AutocompleteIndex(tenisRepository, vendaDiariaRepository, 30, 3);
+        index.inicializar();
+    }
+
+    @Test
+    void casaPrefixoDeQualquerPalavraSemAcentoNemCaixa() {
+        assertThat(ids(index.sugerir("MAX", 10))).containsExactly(1L);
+        assertThat(ids(index.sugerir("tenis cor", 10))).containsExactly(4L);
+        assertThat(ids(index.sugerir("corr", 10))).containsExactly(4L);
+        assertThat(ids(index.sugerir("xyz", 10))).isEmpty();
+        assertThat(index.sugerir("  -- ", 10)).isEmpty();
+    }
+
+    @Test
+    void ordenaPorPopularidadeEDesempataPorId() {
+        // "nike" casa os dois Air pela marca; "a" casa todos, inclusive por mais de um termo
+        assertThat(ids(index.sugerir("nike", 10))).containsExactly(2L, 1L);
+        assertThat(ids(index.sugerir("a", 10))).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    void limitaAoTopKSemRepetirTenis() {
+        assertThat(ids(index.sugerir("a", 1))).containsExactly(2L);
+        assertThat(ids(index.sugerir("a", 2))).containsExactly(2L, 1L);
+        // Limite acima de max-sugestoes é reduzido; abaixo de 1 vira 1
+        assertThat(index.sugerir("a", 100)).hasSize(3);
+        assertThat(ids(index.sugerir("a", 0))).containsExactly(2L);
+    }
+
+    @Test
+    void atualizacaoIncrementalTrocaOsTermosEMantemAPopularidade() {
+        when(tenisRepository.findSugestaoById(1L))
+                .thenReturn(Optional.of(new SugestaoResponseDTO(1L, "Zoom Fly", "Nike", "ZF5")));
+
+        index.onCatalogoAlterado(new CatalogoAlteradoEvent(CatalogoAlteradoEvent.Tipo.TENIS, 1L));
+
+        assertThat(index.sugerir("max", 10)).isEmpty();
+        assertThat(index.sugerir("zoom", 10)).extracting(SugestaoResponseDTO::getNome).containsExactly("Zoom Fly");
+        assertThat(ids(index.sugerir("nike", 10))).containsExactly(2L, 1L);
+        assertThat(ids(index.sugerir("air", 10))).containsExactly(2L);
+    }
+
+    @Test
+    void tenisRemovidoSaiDoIndice() {
+        when(tenisRepository.findSugestaoById(2L)).thenReturn(Optional.empty());
+
+        index.onCatalogoAlterado(new CatalogoAlteradoEvent(CatalogoAlteradoEvent.Tipo.TENIS, 2L));
+
+        assertThat(ids(index.sugerir("a", 10))).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void novoTenisEntraNoIndiceSemPopularidade() {
+        when(tenisRepository.findSugestaoById(5L))
+                .thenReturn(Optional.of(new SugestaoResponseDTO(5L, "Air Jordan 1", "Nike", "AJ1")));
+
+        index.onCatalogoAlterado(new CatalogoAlteradoEvent(CatalogoAlteradoEvent.Tipo.TENIS, 5L));
+
+        assertThat(ids(index.sugerir("air", 10))).containsExactly(2L, 1L, 5L);
+    }
+
+    @Test
+    void alteracaoDeCategoriaNaoMexeNoIndice() {
+        when(tenisRepository.findAllSugestoes()).thenReturn(List.of());
+
+        index.onCatalogoAlterado(new CatalogoAlteradoEvent(CatalogoAlteradoEvent.Tipo.CATEGORIA, null));
+
+        assertThat(ids(index.sugerir("air", 10))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void reconstrucaoLidaAntesNaoDesfazAtualizacaoIncremental() throws Exception {
+        CountDownLatch leituraFeita = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        // A reconstrução lê o catálogo antigo e só publica depois da atualização incremental
+        when(tenisRepository.findAllSugestoes()).thenAnswer(invocation -> {
+            leituraFeita.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return List.of(AIR_MAX, AIR_FORCE, ULTRABOOST, CORRIDA);
+        });
+        when(tenisRepository.findSugestaoById(1L))
+                .thenReturn(Optional.of(new SugestaoResponseDTO(1L, "Zoom Fly", "Nike", "ZF5")));
+
+        Thread reconstrucao = Thread.ofVirtual().start(index::atualizarPopularidade);
+        assertThat(leituraFeita.await(5, TimeUnit.SECONDS)).isTrue();
+        index.onCatalogoAlterado(new CatalogoAlteradoEvent(CatalogoAlteradoEvent.Tipo.TENIS, 1L));
+        liberar.countDown();
+        reconstrucao.join(5_000);
+
+        assertThat(index.sugerir("max", 10)).isEmpty();
+        assertThat(ids(index.sugerir("zoom", 10))).containsExactly(1L);
+        assertThat(ids(index.sugerir("nike", 10))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void atualizacaoLidaAntesDeUmaReconstrucaoEDescartada() {
+        when(tenisRepository.findAllSugestoes()).thenReturn(List.of(AIR_FORCE, ULTRABOOST, CORRIDA));
+        when(tenisRepository.findSugestaoById(1L)).thenAnswer(invocation -> {
+            // Uma reconstrução começa e publica enquanto esta leitura (mais antiga) está em curso
+            index.atualizarPopularidade();
+            return Optional.of(AIR_MAX);
+        });
+
+        index.onCatalogoAlterado(new CatalogoAlteradoEvent(CatalogoAlteradoEvent.Tipo.TENIS, 1L));
+
+        assertThat(index.sugerir("max", 10)).isEmpty();
+    }
+
+    private static TenisMaisVendidoProjection vendido(Long tenisId, long quantidade) {
+        return new TenisMaisVendidoProjection(tenisId, null, null, null, quantidade, BigDecimal.ZERO);
+    }
+
+    private static List<Long> ids(List<SugestaoResponseDTO> sugestoes) {
+        return sugestoes.stream().map(SugestaoResponseDTO::getId).toList();
+    }
+}
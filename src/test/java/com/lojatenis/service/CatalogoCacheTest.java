@@ -0,0 +1,68 @@
+package com.lojatenis.service;
+
+import com.lojatenis.config.CacheConfig;
+import com.lojatenis.dto.response.TenisResponseDTO;
+import com.lojatenis.event.CatalogoAlteradoEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogoCacheTest {
+
+    private final CatalogoCache catalogoCache = new CatalogoCache(new ConcurrentMapCacheManager(
+            CacheConfig.TENIS, CacheConfig.TENIS_LISTAGEM, CacheConfig.CATEGORIAS, CacheConfig.CATEGORIAS_LISTAGEM));
+
+    @Test
+    void valorCarregadoFicaEmCacheEAsCopiasSaoIndependentes() {
+        AtomicInteger cargas = new AtomicInteger();
+
+        TenisResponseDTO primeira = catalogoCache.getTenis(1L, () -> tenis(1L, "Air Max", cargas));
+        TenisResponseDTO segunda = catalogoCache.getTenis(1L, () -> tenis(1L, "Air Max", cargas));
+
+        assertThat(cargas).hasValue(1);
+        assertThat(segunda).isNotSameAs(primeira);
+        assertThat(segunda.getNome()).isEqualTo("Air Max");
+    }
+
+    @Test
+    void cargaConcorrenteComUmaAlteracaoNaoRepovoaOCache() {
+        AtomicInteger cargas = new AtomicInteger();
+
+        // A alteração é confirmada e invalidada enquanto o leitor ainda monta o valor antigo
+        TenisResponseDTO antigo = catalogoCache.getTenis(1L, () -> {
+            TenisResponseDTO lido = tenis(1L, "Nome antigo", cargas);
+            catalogoCache.onCatalogoAlterado(new CatalogoAlteradoEvent(CatalogoAlteradoEvent.Tipo.TENIS, 1L));
+            return lido;
+        });
+        TenisResponseDTO atual = catalogoCache.getTenis(1L, () -> tenis(1L, "Nome novo", cargas));
+
+        assertThat(antigo.getNome()).isEqualTo("Nome antigo");
+        assertThat(atual.getNome()).isEqualTo("Nome novo");
+        assertThat(cargas).hasValue(2);
+    }
+
+    @Test
+    void alteracaoAvancaAVersaoEInvalidaOItem() {
+        AtomicInteger cargas = new AtomicInteger();
+        catalogoCache.getTenis(1L, () -> tenis(1L, "Air Max", cargas));
+        CatalogoCache.Versao antes = catalogoCache.getVersao();
+
+        catalogoCache.onCatalogoAlterado(new CatalogoAlteradoEvent(CatalogoAlteradoEvent.Tipo.TENIS, 1L));
+        catalogoCache.getTenis(1L, () -> tenis(1L, "Air Max", cargas));
+
+        assertThat(catalogoCache.getVersao().numero()).isEqualTo(antes.numero() + 1);
+        assertThat(catalogoCache.getVersao().categorias()).isEqualTo(antes.categorias());
+        assertThat(cargas).hasValue(2);
+    }
+
+    private static TenisResponseDTO tenis(Long id, String nome, AtomicInteger cargas) {
+        cargas.incrementAndGet();
+        TenisResponseDTO tenis = new TenisResponseDTO();
+        tenis.setId(id);
+        tenis.setNome(nome);
+        return tenis;
+    }
+}
@@ -0,0 +1,33 @@
+package com.lojatenis.service;
+
+import com.lojatenis.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EstoqueServiceTest extends PostgresIntegrationTest {
+
+    @Test
+    void definicoesConcorrentesDeUmTamanhoNovoCriamUmaUnicaLinha() throws InterruptedException {
+        Long tenisId = novoTenis();
+
+        int concluidas = executarConcorrentes(10, () -> {
+            definirEstoque(tenisId, 39, 7);
+            return null;
+        });
+
+        assertThat(concluidas).isEqualTo(10);
+        assertThat(estoqueService.findByTenisId(tenisId)).hasSize(1);
+        assertThat(estoque(tenisId, 39)).isEqualTo(7);
+    }
+
+    @Test
+    void definirSobrescreveOSaldoExistente() {
+        Long tenisId = novoTenis();
+
+        definirEstoque(tenisId, 40, 3);
+        definirEstoque(tenisId, 40, 12);
+
+        assertThat(estoque(tenisId, 40)).isEqualTo(12);
+    }
+}
@@ -0,0 +1,54 @@
+package com.lojatenis.service;
+
+import com.lojatenis.PostgresIntegrationTest;
+import com.lojatenis.domain.ItemPedido;
+import com.lojatenis.domain.Pedido;
+import com.lojatenis.dto.request.ItemPedidoCreateRequestDTO;
+import com.lojatenis.dto.request.PedidoCreateRequestDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PedidoBatchInsertTest extends PostgresIntegrationTest {
+
+    private static final int TAMANHO = 40;
+    private static final int ITENS = 10;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void itensDoPedidoSaoInseridosEmLote() {
+        Long usuarioId = novoUsuario();
+        Long tenisId = novoTenis();
+        definirEstoque(tenisId, TAMANHO, 2 * ITENS);
+
+        // Mesmo tênis e tamanho: uma única baixa de estoque e um único rollup, sobra só o custo dos INSERTs
+        PedidoCreateRequestDTO pedido = new PedidoCreateRequestDTO(usuarioId,
+                Collections.nCopies(ITENS, new ItemPedidoCreateRequestDTO(tenisId, 1, TAMANHO)));
+
+        // Primeiro pedido só aquece as sequências: a medição não inclui a busca inicial de blocos de IDs
+        pedidoService.create(pedido);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        pedidoService.create(pedido);
+
+        assertThat(statistics.getEntityStatistics(Pedido.class.getName()).getInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(ItemPedido.class.getName()).getInsertCount()).isEqualTo(ITENS);
+        // Sem lote seriam ao menos 10 statements só para os itens; com lote o pedido inteiro cabe em
+        // poucos: usuário, tênis, INSERT do pedido, INSERT dos itens, baixa de estoque e rollup de vendas
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(ITENS);
+    }
+}
@@ -0,0 +1,64 @@
+package com.lojatenis.service;
+
+import com.lojatenis.PostgresIntegrationTest;
+import com.lojatenis.dto.request.ItemPedidoCreateRequestDTO;
+import com.lojatenis.dto.request.PedidoCreateRequestDTO;
+import com.lojatenis.dto.response.PedidoResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PedidoKeysetTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Empates em dataPedido são desempatados por id, sem repetir nem pular pedidos entre páginas
+    @Test
+    void cursorPercorreEmpatesDeDataSemRepetirNemPular() {
+        Long usuarioId = novoUsuario();
+        Long tenisId = novoTenis();
+        definirEstoque(tenisId, 40, 50);
+
+        List<Long> criados = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            criados.add(pedidoService.create(new PedidoCreateRequestDTO(usuarioId,
+                    List.of(new ItemPedidoCreateRequestDTO(tenisId, 1, 40)))).getId());
+        }
+
+        // Datas no futuro: estes pedidos ocupam as primeiras páginas, independente dos outros testes
+        LocalDateTime empate = LocalDateTime.now().plusYears(100).withNano(0);
+        jdbcTemplate.update("UPDATE pedidos SET data_pedido = ? WHERE id = ANY (?)",
+                Timestamp.valueOf(empate), criados.subList(0, 5).toArray(Long[]::new));
+        jdbcTemplate.update("UPDATE pedidos SET data_pedido = ? WHERE id = ANY (?)",
+                Timestamp.valueOf(empate.minusSeconds(1)), criados.subList(5, 7).toArray(Long[]::new));
+
+        List<Long> lidos = new ArrayList<>();
+        LocalDateTime dataPedido = null;
+        Long id = null;
+        while (lidos.size() < criados.size()) {
+            Slice<PedidoResponseDTO> pagina = pedidoService.findAllByKeyset(null, dataPedido, id, 3);
+            PedidoResponseDTO ultimo = pagina.getContent().get(pagina.getNumberOfElements() - 1);
+            pagina.forEach(pedido -> lidos.add(pedido.getId()));
+            dataPedido = ultimo.getDataPedido();
+            id = ultimo.getId();
+        }
+
+        List<Long> esperados = new ArrayList<>(criados.subList(0, 5));
+        esperados.sort(Comparator.reverseOrder());
+        criados.subList(5, 7).stream().sorted(Comparator.reverseOrder()).forEach(esperados::add);
+        assertThat(lidos).containsExactlyElementsOf(esperados);
+    }
+}
@@ -0,0 +1,85 @@
+package com.lojatenis.service;
+
+import com.lojatenis.PostgresIntegrationTest;
+import com.lojatenis.domain.enums.StatusPedido;
+import com.lojatenis.dto.request.ItemPedidoCreateRequestDTO;
+import com.lojatenis.dto.request.PedidoCreateRequestDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PedidoServiceConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int TAMANHO = 42;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    private Long usuarioId;
+    private Long tenisId;
+
+    @BeforeEach
+    void setUp() {
+        usuarioId = novoUsuario();
+        tenisId = novoTenis();
+    }
+
+    @Test
+    void pedidosConcorrentesNaoVendemAlemDoEstoque() throws InterruptedException {
+        definirEstoque(tenisId, TAMANHO, 5);
+
+        int criados = executarConcorrentes(20, () -> pedidoService.create(pedido(1)));
+
+        assertThat(criados).isEqualTo(5);
+        assertThat(estoque(tenisId, TAMANHO)).isZero();
+    }
+
+    @Test
+    void cancelamentosConcorrentesDevolvemOEstoqueUmaVez() throws InterruptedException {
+        definirEstoque(tenisId, TAMANHO, 10);
+        Long pedidoId = pedidoService.create(pedido(3)).getId();
+
+        int cancelados = executarConcorrentes(10,
+                () -> pedidoService.updateStatus(pedidoId, StatusPedido.CANCELADO));
+
+        assertThat(cancelados).isEqualTo(1);
+        assertThat(estoque(tenisId, TAMANHO)).isEqualTo(10);
+        assertThat(pedidoService.findById(pedidoId).getStatus()).isEqualTo(StatusPedido.CANCELADO);
+    }
+
+    @Test
+    void cancelamentoConcorrenteComExclusaoDevolveOEstoqueUmaVez() throws InterruptedException {
+        definirEstoque(tenisId, TAMANHO, 10);
+
+        for (int i = 0; i < 5; i++) {
+            Long pedidoId = pedidoService.create(pedido(2)).getId();
+
+            int concluidos = executarConcorrentes(2, alternando(
+                    () -> pedidoService.updateStatus(pedidoId, StatusPedido.CANCELADO),
+                    () -> pedidoService.delete(pedidoId)));
+
+            assertThat(concluidos).isEqualTo(1);
+            assertThat(estoque(tenisId, TAMANHO)).isEqualTo(10);
+        }
+    }
+
+    private PedidoCreateRequestDTO pedido(int quantidade) {
+        return new PedidoCreateRequestDTO(usuarioId,
+                List.of(new ItemPedidoCreateRequestDTO(tenisId, quantidade, TAMANHO)));
+    }
+
+    // Cada thread executa a próxima ação da lista
+    private static Callable<Object> alternando(Runnable... acoes) {
+        AtomicInteger proxima = new AtomicInteger();
+        return () -> {
+            acoes[proxima.getAndIncrement() % acoes.length].run();
+            return null;
+        };
+    }
+}
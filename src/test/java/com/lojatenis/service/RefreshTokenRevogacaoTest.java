@@ -0,0 +1,65 @@
+package com.lojatenis.service;
+
+import com.lojatenis.PostgresIntegrationTest;
+import com.lojatenis.dto.request.UsuarioCreateRequestDTO;
+import com.lojatenis.dto.response.UsuarioResponseDTO;
+import com.lojatenis.exception.InvalidRefreshTokenException;
+import com.lojatenis.security.UsuarioPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshTokenRevogacaoTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Test
+    void trocaDeSenhaInvalidaOsRefreshTokensDoUsuario() {
+        UsuarioResponseDTO usuario = usuarioService.findById(novoUsuario());
+        String token = refreshTokenService.emitir(principal(usuario)).token();
+
+        usuarioService.update(usuario.getId(), alteracao(usuario, "novaSenha456"));
+
+        assertThatThrownBy(() -> refreshTokenService.rotacionar(token))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    @Test
+    void alteracaoSemTrocarASenhaMantemAsSessoes() {
+        UsuarioResponseDTO usuario = usuarioService.findById(novoUsuario());
+        String token = refreshTokenService.emitir(principal(usuario)).token();
+
+        // novoUsuario() cadastra com "senha123"
+        usuarioService.update(usuario.getId(), alteracao(usuario, "senha123"));
+
+        assertThat(refreshTokenService.rotacionar(token).principal().getId()).isEqualTo(usuario.getId());
+    }
+
+    @Test
+    void exclusaoDoUsuarioInvalidaOsRefreshTokens() {
+        UsuarioResponseDTO usuario = usuarioService.findById(novoUsuario());
+        String token = refreshTokenService.emitir(principal(usuario)).token();
+
+        usuarioService.delete(usuario.getId());
+
+        assertThatThrownBy(() -> refreshTokenService.rotacionar(token))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    private static UsuarioPrincipal principal(UsuarioResponseDTO usuario) {
+        return new UsuarioPrincipal(usuario.getId(), usuario.getEmail(), "", List.of());
+    }
+
+    private static UsuarioCreateRequestDTO alteracao(UsuarioResponseDTO usuario, String senha) {
+        UsuarioCreateRequestDTO dto = new UsuarioCreateRequestDTO();
+        dto.setEmail(usuario.getEmail());
+        dto.setNome("Cliente Alterado");
+        dto.setSenha(senha);
+        return dto;
+    }
+}
@@ -0,0 +1,149 @@
+package com.lojatenis.service;
+
+import com.lojatenis.domain.RefreshToken;
+import com.lojatenis.domain.Usuario;
+import com.lojatenis.domain.enums.Role;
+import com.lojatenis.exception.InvalidRefreshTokenException;
+import com.lojatenis.repository.RefreshTokenRepository;
+import com.lojatenis.security.UsuarioPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTest {
+
+    private final RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+    private final RefreshTokenService service = new RefreshTokenService(repository, Duration.ofDays(30), 1000);
+
+    // Tabela refresh_tokens em memória, indexada pelo hash
+    private final Map<String, RefreshToken> tokens = new HashMap<>();
+    private final Usuario usuario = new Usuario();
+
+    @BeforeEach
+    void setUp() {
+        usuario.setId(1L);
+        usuario.setEmail("cliente@loja.com");
+        usuario.setRole(Role.CLIENTE);
+
+        doAnswer(invocation -> {
+            tokens.put(invocation.getArgument(0), new RefreshToken(invocation.getArgument(0), invocation.getArgument(1),
+                    usuario, invocation.getArgument(3), invocation.getArgument(4), null));
+            return null;
+        }).when(repository).inserir(anyString(), anyString(), any(), any(), any());
+        when(repository.findByHashComUsuario(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(tokens.get(invocation.<String>getArgument(0))));
+        when(repository.marcarUsado(anyString(), any())).thenAnswer(invocation -> {
+            RefreshToken token = tokens.get(invocation.<String>getArgument(0));
+            if (token == null || token.getUsadoEm() != null) {
+                return 0;
+            }
+            token.setUsadoEm(invocation.getArgument(1));
+            return 1;
+        });
+        when(repository.deleteByFamilia(anyString())).thenAnswer(invocation -> {
+            List<String> familia = tokens.values().stream()
+                    .filter(t -> t.getFamilia().equals(invocation.getArgument(0)))
+                    .map(RefreshToken::getHash)
+                    .toList();
+            familia.forEach(tokens::remove);
+            return familia.size();
+        });
+    }
+
+    @Test
+    void rotacaoEmiteNovoTokenDaMesmaFamilia() {
+        String token = service.emitir(principal()).token();
+
+        RefreshTokenService.Rotacao rotacao = service.rotacionar(token);
+
+        assertThat(rotacao.refreshToken().token()).isNotEqualTo(token);
+        assertThat(rotacao.principal().getId()).isEqualTo(1L);
+        assertThat(rotacao.principal().getUsername()).isEqualTo("cliente@loja.com");
+        assertThat(rotacao.principal().getAuthorities()).extracting(Object::toString).containsExactly("ROLE_CLIENTE");
+        assertThat(tokens.values()).extracting(RefreshToken::getFamilia).containsOnly(familiaUnica());
+    }
+
+    @Test
+    void reusoDeTokenRotacionadoRevogaAFamiliaInteira() {
+        String original = service.emitir(principal()).token();
+        String atual = service.rotacionar(original).refreshToken().token();
+
+        assertThatThrownBy(() -> service.rotacionar(original)).isInstanceOf(InvalidRefreshTokenException.class);
+
+        // O token legítimo mais recente cai junto: quem vazou o antigo não mantém a sessão
+        assertThat(tokens).isEmpty();
+        assertThatThrownBy(() -> service.rotacionar(atual)).isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    @Test
+    void reusoConcorrenteRevogaAFamilia() {
+        String token = service.emitir(principal()).token();
+        // Outra requisição marcou o token entre a leitura e o UPDATE condicional
+        when(repository.marcarUsado(anyString(), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> service.rotacionar(token)).isInstanceOf(InvalidRefreshTokenException.class);
+        assertThat(tokens).isEmpty();
+    }
+
+    @Test
+    void reusoNaoAfetaOutrasFamilias() {
+        String sessaoA = service.emitir(principal()).token();
+        String sessaoB = service.emitir(principal()).token();
+        service.rotacionar(sessaoA);
+
+        assertThatThrownBy(() -> service.rotacionar(sessaoA)).isInstanceOf(InvalidRefreshTokenException.class);
+
+        assertThat(service.rotacionar(sessaoB).principal().getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void tokenExpiradoERecusadoSemRevogar() {
+        String token = service.emitir(principal()).token();
+        tokens.values().forEach(t -> t.setExpiresAt(LocalDateTime.now().minusSeconds(1)));
+
+        assertThatThrownBy(() -> service.rotacionar(token))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessage("Refresh token expirado");
+        verify(repository, never()).deleteByFamilia(anyString());
+    }
+
+    @Test
+    void usuarioRemovidoRevogaAFamilia() {
+        String token = service.emitir(principal()).token();
+        usuario.setDeleted(true);
+
+        assertThatThrownBy(() -> service.rotacionar(token)).isInstanceOf(InvalidRefreshTokenException.class);
+        assertThat(tokens).isEmpty();
+    }
+
+    @Test
+    void tokenDesconhecidoEInvalido() {
+        assertThatThrownBy(() -> service.rotacionar("inexistente"))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessage("Refresh token inválido");
+    }
+
+    private UsuarioPrincipal principal() {
+        return new UsuarioPrincipal(usuario.getId(), usuario.getEmail(), "", List.of());
+    }
+
+    private String familiaUnica() {
+        return tokens.values().iterator().next().getFamilia();
+    }
+}
@@ -0,0 +1,63 @@
+package com.lojatenis.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojatenis.domain.SolicitacaoPedido;
+import com.lojatenis.domain.enums.StatusSolicitacao;
+import com.lojatenis.dto.response.SolicitacaoPedidoResponseDTO;
+import com.lojatenis.exception.ResourceNotFoundException;
+import com.lojatenis.repository.SolicitacaoPedidoRepository;
+import com.lojatenis.security.UsuarioPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SolicitacaoPedidoServiceTest {
+
+    private static final Long DONO_ID = 10L;
+
+    private SolicitacaoPedidoService service;
+
+    @BeforeEach
+    void setUp() {
+        SolicitacaoPedidoRepository repository = mock(SolicitacaoPedidoRepository.class);
+        service = new SolicitacaoPedidoService(repository, new ObjectMapper(), mock(ApplicationEventPublisher.class));
+
+        SolicitacaoPedido solicitacao = new SolicitacaoPedido();
+        solicitacao.setId(1L);
+        solicitacao.setUsuarioId(DONO_ID);
+        solicitacao.setStatus(StatusSolicitacao.REJEITADA);
+        solicitacao.setErro("Estoque insuficiente");
+        when(repository.findActiveById(1L)).thenReturn(Optional.of(solicitacao));
+    }
+
+    @Test
+    void donoConsultaAPropriaSolicitacao() {
+        SolicitacaoPedidoResponseDTO dto = service.findById(1L, usuario(DONO_ID, "ROLE_CLIENTE"));
+
+        assertThat(dto.getErro()).isEqualTo("Estoque insuficiente");
+    }
+
+    @Test
+    void adminConsultaQualquerSolicitacao() {
+        assertThat(service.findById(1L, usuario(99L, "ROLE_ADMIN")).getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void outroClienteRecebeNaoEncontrado() {
+        assertThatThrownBy(() -> service.findById(1L, usuario(11L, "ROLE_CLIENTE")))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private static UsuarioPrincipal usuario(Long id, String role) {
+        return new UsuarioPrincipal(id, "usuario" + id + "@teste.com", "", List.of(new SimpleGrantedAuthority(role)));
+    }
+}
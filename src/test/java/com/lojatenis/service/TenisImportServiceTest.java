@@ -0,0 +1,104 @@
+package com.lojatenis.service;
+
+import com.lojatenis.PostgresIntegrationTest;
+import com.lojatenis.dto.request.CategoriaCreateRequestDTO;
+import com.lojatenis.dto.response.ImportacaoResultadoDTO;
+import com.lojatenis.event.CatalogoAlteradoEvent;
+import com.lojatenis.repository.TenisRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestPropertySource(properties = "loja.importacao.chunk-size=2")
+@RecordApplicationEvents
+class TenisImportServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TenisImportService importService;
+
+    @Autowired
+    private TenisRepository tenisRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private Long categoriaId;
+    private String prefixo;
+
+    @BeforeEach
+    void setUp() {
+        categoriaId = categoriaService.create(new CategoriaCreateRequestDTO("Import " + UUID.randomUUID(), null)).getId();
+        prefixo = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void falhaNaLeituraAposBlocosGravadosInvalidaOCatalogo() {
+        InputStream corpo = new SequenceInputStream(
+                new ByteArrayInputStream(ndjson(0, 3).getBytes(StandardCharsets.UTF_8)),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("Conexão encerrada pelo cliente");
+                    }
+                });
+
+        assertThatThrownBy(() -> importService.importar(corpo, TenisImportService.Formato.NDJSON))
+                .isInstanceOf(IOException.class);
+
+        assertThat(tenisRepository.findActiveWithCategoriasByModeloIn(modelos(0, 3))).hasSizeGreaterThanOrEqualTo(2);
+        assertThat(events.stream(CatalogoAlteradoEvent.class)
+                .filter(e -> e.getTipo() == CatalogoAlteradoEvent.Tipo.TENIS && e.getId() == null))
+                .hasSize(1);
+    }
+
+    @Test
+    void categoriaNulaRejeitaSoALinha() throws IOException {
+        String linhas = ndjson(0, 1)
+                + "{\"nome\":\"Nulo\",\"marca\":\"Marca\",\"modelo\":\"" + prefixo + "-nulo\",\"preco\":100,"
+                + "\"categoriaIds\":[null]}\n";
+
+        ImportacaoResultadoDTO resultado = importService.importar(
+                new ByteArrayInputStream(linhas.getBytes(StandardCharsets.UTF_8)), TenisImportService.Formato.NDJSON);
+
+        assertThat(resultado.getCriados()).isEqualTo(1);
+        assertThat(resultado.getRejeitados()).isEqualTo(1);
+    }
+
+    @Test
+    void importacoesConcorrentesNaoDuplicamMarcaModelo() throws InterruptedException {
+        byte[] arquivo = ndjson(0, 20).getBytes(StandardCharsets.UTF_8);
+
+        executarConcorrentes(4, () -> importService.importar(new ByteArrayInputStream(arquivo),
+                TenisImportService.Formato.NDJSON));
+
+        assertThat(tenisRepository.findActiveWithCategoriasByModeloIn(modelos(0, 20))).hasSize(20);
+    }
+
+    private String ndjson(int inicio, int fim) {
+        StringBuilder linhas = new StringBuilder();
+        IntStream.range(inicio, fim).forEach(i -> linhas
+                .append("{\"nome\":\"Tênis ").append(i).append("\",\"marca\":\"Marca\",\"modelo\":\"")
+                .append(prefixo).append('-').append(i).append("\",\"preco\":199.90,\"categoriaIds\":[")
+                .append(categoriaId).append("]}\n"));
+        return linhas.toString();
+    }
+
+    private List<String> modelos(int inicio, int fim) {
+        return IntStream.range(inicio, fim).mapToObj(i -> prefixo + "-" + i).toList();
+    }
+}
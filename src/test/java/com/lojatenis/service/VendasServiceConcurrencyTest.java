@@ -0,0 +1,87 @@
+package com.lojatenis.service;
+
+import com.lojatenis.PostgresIntegrationTest;
+import com.lojatenis.domain.enums.StatusPedido;
+import com.lojatenis.dto.projection.TenisMaisVendidoProjection;
+import com.lojatenis.dto.request.ItemPedidoCreateRequestDTO;
+import com.lojatenis.dto.request.PedidoCreateRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VendasServiceConcurrencyTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private VendasService vendasService;
+
+    @Test
+    void cancelamentosConcorrentesEstornamAVendaUmaVez() throws InterruptedException {
+        Long usuarioId = novoUsuario();
+        Long tenisId = novoTenis();
+        definirEstoque(tenisId, 41, 10);
+
+        PedidoCreateRequestDTO requestDTO = new PedidoCreateRequestDTO(usuarioId,
+                List.of(new ItemPedidoCreateRequestDTO(tenisId, 2, 41)));
+        pedidoService.create(requestDTO);
+        Long canceladoId = pedidoService.create(requestDTO).getId();
+
+        executarConcorrentes(10, () -> pedidoService.updateStatus(canceladoId, StatusPedido.CANCELADO));
+
+        assertThat(vendidos(tenisId)).isEqualTo(2L);
+    }
+
+    @Test
+    void pedidosConcorrentesDoMesmoTenisSomamNoRollup() throws InterruptedException {
+        Long usuarioId = novoUsuario();
+        Long tenisId = novoTenis();
+        definirEstoque(tenisId, 40, 20);
+        definirEstoque(tenisId, 42, 20);
+
+        AtomicInteger proximo = new AtomicInteger();
+        int criados = executarConcorrentes(20, () -> pedidoService.create(new PedidoCreateRequestDTO(usuarioId,
+                List.of(new ItemPedidoCreateRequestDTO(tenisId, 1, proximo.getAndIncrement() % 2 == 0 ? 40 : 42)))));
+
+        assertThat(criados).isEqualTo(20);
+        assertThat(vendidos(tenisId)).isEqualTo(20L);
+    }
+
+    // Backfill do dia corrente com deltas ainda não consolidados e pedidos chegando durante a reconstrução
+    @Test
+    void backfillDoDiaCorrenteNaoDuplicaNemPerdeVendas() throws InterruptedException {
+        Long usuarioId = novoUsuario();
+        Long tenisId = novoTenis();
+        definirEstoque(tenisId, 41, 50);
+        PedidoCreateRequestDTO requestDTO = new PedidoCreateRequestDTO(usuarioId,
+                List.of(new ItemPedidoCreateRequestDTO(tenisId, 1, 41)));
+
+        for (int i = 0; i < 5; i++) {
+            pedidoService.create(requestDTO);
+        }
+        LocalDate hoje = LocalDate.now();
+        AtomicInteger proximo = new AtomicInteger();
+        int concluidos = executarConcorrentes(11, () -> proximo.getAndIncrement() == 0
+                ? vendasService.backfill(hoje, hoje)
+                : pedidoService.create(requestDTO));
+
+        assertThat(concluidos).isEqualTo(11);
+        assertThat(vendidos(tenisId)).isEqualTo(15L);
+    }
+
+    private Long vendidos(Long tenisId) {
+        vendasService.consolidar();
+        LocalDate hoje = LocalDate.now();
+        return vendasService.findMaisVendidos(hoje, hoje, 100).stream()
+                .filter(v -> v.getTenisId().equals(tenisId))
+                .map(TenisMaisVendidoProjection::getQuantidade)
+                .findFirst()
+                .orElse(0L);
+    }
+}
@@ -0,0 +1,52 @@
+package com.lojatenis.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvUtilsTest {
+
+    @Test
+    void parseLineDivideCamposSimples() {
+        assertThat(CsvUtils.parseLine("Air Max,Nike,599.90")).containsExactly("Air Max", "Nike", "599.90");
+    }
+
+    @Test
+    void parseLineMantemCamposVaziosNasPontas() {
+        assertThat(CsvUtils.parseLine(",meio,")).containsExactly("", "meio", "");
+        assertThat(CsvUtils.parseLine("")).containsExactly("");
+    }
+
+    @Test
+    void parseLineAceitaVirgulaEAspasEscapadasEntreAspas() {
+        assertThat(CsvUtils.parseLine("\"Corrida, leve\",\"Tênis \"\"pro\"\"\",\"\""))
+                .containsExactly("Corrida, leve", "Tênis \"pro\"", "");
+    }
+
+    @Test
+    void parseLineRejeitaAspasNaoFechadas() {
+        assertThatThrownBy(() -> CsvUtils.parseLine("\"sem fim,Nike"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Aspas não fechadas na linha CSV");
+    }
+
+    @Test
+    void escapeSoColocaAspasQuandoNecessario() {
+        assertThat(CsvUtils.escape("Nike")).isEqualTo("Nike");
+        assertThat(CsvUtils.escape(null)).isEmpty();
+        assertThat(CsvUtils.escape("Corrida, leve")).isEqualTo("\"Corrida, leve\"");
+        assertThat(CsvUtils.escape("linha\nquebrada")).isEqualTo("\"linha\nquebrada\"");
+        assertThat(CsvUtils.escape("Tênis \"pro\"")).isEqualTo("\"Tênis \"\"pro\"\"\"");
+    }
+
+    @Test
+    void escapeEParseLineSaoInversos() {
+        String[] campos = {"Air Max", "Corrida, leve", "Tênis \"pro\"", ""};
+        String linha = String.join(",", Arrays.stream(campos).map(CsvUtils::escape).toList());
+
+        assertThat(CsvUtils.parseLine(linha)).containsExactly(campos);
+    }
+}
@@ -0,0 +1,51 @@
+package com.lojatenis.util;
+
+import com.lojatenis.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorUtilsTest {
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        LocalDateTime dataPedido = LocalDateTime.of(2024, 5, 17, 10, 30, 15, 123_000_000);
+
+        String cursor = CursorUtils.encode(dataPedido, 42L);
+        String[] keys = CursorUtils.decode(cursor, 2);
+
+        assertThat(cursor).doesNotContain("=", "+", "/");
+        assertThat(CursorUtils.parseDateTime(keys[0])).isEqualTo(dataPedido);
+        assertThat(CursorUtils.parseId(keys[1])).isEqualTo(42L);
+    }
+
+    @Test
+    void cursorComQuantidadeDeChavesDiferenteEInvalido() {
+        String cursor = CursorUtils.encode(42L);
+
+        assertThatThrownBy(() -> CursorUtils.decode(cursor, 2))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Cursor de paginação inválido");
+    }
+
+    @Test
+    void cursorForaDoBase64EInvalido() {
+        assertThatThrownBy(() -> CursorUtils.decode("@@@", 1)).isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void chavesMalFormadasSaoInvalidas() {
+        assertThatThrownBy(() -> CursorUtils.parseId("abc")).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> CursorUtils.parseDateTime("ontem")).isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void cursorNuloOuVazioIndicaPrimeiraPagina() {
+        assertThat(CursorUtils.isFirstPage(null)).isTrue();
+        assertThat(CursorUtils.isFirstPage(" ")).isTrue();
+        assertThat(CursorUtils.isFirstPage(CursorUtils.encode(1L))).isFalse();
+    }
+}
@@ -0,0 +1,16 @@
+package com.lojatenis.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidationUtilsTest {
+
+    @Test
+    void clampPageSizeLimitaEntreUmEOMaximo() {
+        assertThat(ValidationUtils.clampPageSize(-5)).isEqualTo(1);
+        assertThat(ValidationUtils.clampPageSize(0)).isEqualTo(1);
+        assertThat(ValidationUtils.clampPageSize(25)).isEqualTo(25);
+        assertThat(ValidationUtils.clampPageSize(Constants.MAX_PAGE_SIZE + 1)).isEqualTo(Constants.MAX_PAGE_SIZE);
+    }
+}